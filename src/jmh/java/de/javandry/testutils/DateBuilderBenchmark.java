@@ -0,0 +1,157 @@
+package de.javandry.testutils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the DateBuilder hot paths.<br/>
+ * <br/>
+ * Run with <code>mvn -P benchmark test-compile exec:exec</code>. The gc profiler is enabled by default, so the
+ * results (in target/jmh-result.json) contain the allocation rate per operation as well. The results of each
+ * release are kept in src/jmh/baseline to make regressions visible.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateBuilderBenchmark {
+
+    private int day;
+    private DateBuilder date;
+    private Set<DateBuilder> dates;
+    private DateBuilder containedDate;
+    private DateBuilder missingDate;
+    private DateExpression expression;
+    private int[] offsets;
+    private int[] derived;
+
+    @Setup
+    public void setUp() {
+        Locale.setDefault(Locale.GERMANY);
+        day = 14;
+        date = DateBuilder.givenDate(14, 12, 1972);
+        dates = new HashSet<DateBuilder>();
+        for (int i = 0; i < 10000; i++) {
+            dates.add(DateBuilder.givenDate(1, 1, 2000).daysAhead(i));
+        }
+        containedDate = DateBuilder.givenDate(14, 12, 2012);
+        missingDate = DateBuilder.givenDate(14, 12, 1972);
+        expression = DateExpression.compile("last day of month +3M");
+        offsets = new int[24];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = i + 1;
+        }
+        derived = new int[offsets.length];
+    }
+
+    @Benchmark
+    public DateBuilder today() {
+        return DateBuilder.today();
+    }
+
+    @Benchmark
+    public DateValue todayValue() {
+        return DateValue.today();
+    }
+
+    @Benchmark
+    public DateBuilder givenDate() {
+        return DateBuilder.givenDate(day, 12, 1972);
+    }
+
+    @Benchmark
+    public DateBuilder chainedArithmetic() {
+        return DateBuilder.givenDate(day, 12, 1972).nextMonth().firstDay().daysAgo(1);
+    }
+
+    @Benchmark
+    public DateBuilder fusedChain() {
+        return DateBuilder.givenDate(day, 12, 1972).yearsAgo(1).firstMonth().firstDay().monthsAhead(3).lastDay();
+    }
+
+    @Benchmark
+    public DateBuilder lastDay() {
+        return DateBuilder.givenDate(day, 12, 1972).lastDay();
+    }
+
+    @Benchmark
+    public DateBuilder deriveCopy() {
+        return date.copy().monthsAhead(day);
+    }
+
+    @Benchmark
+    public int[] deriveAllMonths() {
+        return date.deriveAll(DateUnit.MONTHS, offsets, derived);
+    }
+
+    @Benchmark
+    public DateBuilder applyExpression() {
+        return DateBuilder.givenDate(day, 12, 1972).apply(expression);
+    }
+
+    @Benchmark
+    public DateBuilder parseDefaultLocale() {
+        return DateBuilder.parse("14.12.1972");
+    }
+
+    @Benchmark
+    public DateBuilder parseGivenLocale() {
+        return DateBuilder.parse("Dec 14, 1972", Locale.US);
+    }
+
+    @Benchmark
+    public DateBuilder parseNumericFormat() {
+        return DateBuilder.parse("14.12.1972", "dd.MM.yyyy");
+    }
+
+    @Benchmark
+    public DateBuilder parseTextualFormat() {
+        return DateBuilder.parse("14-Mai-1972", "dd-MMM-yyyy");
+    }
+
+    @Benchmark
+    public String toStringDefaultLocale() {
+        return date.toString();
+    }
+
+    @Benchmark
+    public Date toDate() {
+        return date.toDate();
+    }
+
+    @Benchmark
+    public long toEpochMillisInZone() {
+        return date.toEpochMillis("America/New_York");
+    }
+
+    @Benchmark
+    public java.sql.Date toSqlDate() {
+        return date.toSqlDate();
+    }
+
+    @Benchmark
+    public boolean hashSetContains() {
+        return dates.contains(containedDate);
+    }
+
+    @Benchmark
+    public boolean hashSetContainsMissing() {
+        return dates.contains(missingDate);
+    }
+}
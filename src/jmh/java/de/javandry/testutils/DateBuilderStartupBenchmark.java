@@ -0,0 +1,67 @@
+package de.javandry.testutils;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the cold start of the library: the time of the first <code>givenDate(...)</code> call in a fresh
+ * JVM and the number of classes it loads (the <code>loadedClasses</code> counter).<br/>
+ * <br/>
+ * Every measurement is a single call in its own fork, so class loading and static initialization are included.
+ * Run it alone with <code>mvn -P benchmark test-compile exec:exec -Djmh.args=DateBuilderStartupBenchmark</code>.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class DateBuilderStartupBenchmark {
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ClassCount {
+
+        public long loadedClasses;
+
+        private ClassLoadingMXBean classLoading;
+        private long loadedBefore;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            classLoading = ManagementFactory.getClassLoadingMXBean();
+            loadedBefore = classLoading.getTotalLoadedClassCount();
+        }
+
+        void measure() {
+            loadedClasses = classLoading.getTotalLoadedClassCount() - loadedBefore;
+        }
+    }
+
+    @Benchmark
+    public int firstGivenDate(ClassCount classCount) {
+        int epochDay = DateBuilder.givenDate(14, 12, 2012).daysAgo(2).toEpochDay();
+        classCount.measure();
+        return epochDay;
+    }
+
+    @Benchmark
+    public String firstToString(ClassCount classCount) {
+        String text = DateBuilder.givenDate(14, 12, 2012).daysAgo(2).toString();
+        classCount.measure();
+        return text;
+    }
+}
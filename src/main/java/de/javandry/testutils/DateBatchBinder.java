@@ -0,0 +1,149 @@
+package de.javandry.testutils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.TimeZone;
+
+/**
+ * Binds large numbers of dates into a PreparedStatement as JDBC batches, e.g. to seed a test database.<br/>
+ * <br/>
+ * For every date the date parameter is set and the row is added to the batch; the batch is executed whenever the
+ * configured chunk size is reached and once more at the end. All other parameters of the statement keep the values
+ * they were set to before, so they only have to be set once. The java.sql.Date values are computed from the
+ * epoch-days directly, without any Calendar.<br/>
+ * <br/>
+ * Examples:<br/>
+ * <code>
+ *     PreparedStatement insert = connection.prepareStatement("INSERT INTO BOOKING (ACCOUNT, BOOKING_DATE) VALUES (?, ?)");
+ *     insert.setLong(1, 4711);
+ *     DateBatchBinder.into(insert).parameter(2).chunkSize(5000).bindAll(DateRange.between(first, last));
+ * </code>
+ */
+public final class DateBatchBinder {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final PreparedStatement statement;
+    private final int parameterIndex;
+    private final int chunkSize;
+
+    /**
+     * Returns a binder binding the dates to the first parameter of the given statement in chunks of 1000 rows.
+     * @param statement the statement.
+     * @return the DateBatchBinder.
+     */
+    public static DateBatchBinder into(PreparedStatement statement) {
+        return new DateBatchBinder(statement, 1, DEFAULT_CHUNK_SIZE);
+    }
+
+    private DateBatchBinder(PreparedStatement statement, int parameterIndex, int chunkSize) {
+        if (parameterIndex < 1) {
+            throw new IllegalArgumentException("parameter index must be positive: " + parameterIndex);
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunk size must be positive: " + chunkSize);
+        }
+        this.statement = statement;
+        this.parameterIndex = parameterIndex;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns a binder binding the dates to the given parameter.
+     * @param parameterIndex the (1 based) parameter index.
+     * @return the DateBatchBinder.
+     * @throws IllegalArgumentException if the parameter index is not positive.
+     */
+    public DateBatchBinder parameter(int parameterIndex) {
+        return new DateBatchBinder(statement, parameterIndex, chunkSize);
+    }
+
+    /**
+     * Returns a binder executing the batch every given number of rows.
+     * @param chunkSize the number of rows per batch.
+     * @return the DateBatchBinder.
+     * @throws IllegalArgumentException if the chunk size is not positive.
+     */
+    public DateBatchBinder chunkSize(int chunkSize) {
+        return new DateBatchBinder(statement, parameterIndex, chunkSize);
+    }
+
+    /**
+     * Binds and executes all dates of the given range.
+     * @param range the range.
+     * @return the number of rows bound.
+     * @throws RuntimeException if a SQLException occurs.
+     */
+    public int bindAll(DateRange range) {
+        Batch batch = new Batch();
+        for (int i = 0; i < range.size(); i++) {
+            batch.add(range.epochDay(i));
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Binds and executes all dates of the given sequence.
+     * @param sequence the sequence.
+     * @return the number of rows bound.
+     * @throws RuntimeException if a SQLException occurs.
+     */
+    public int bindAll(DateSequence sequence) {
+        Batch batch = new Batch();
+        for (int i = 0; i < sequence.size(); i++) {
+            batch.add(sequence.epochDay(i));
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Binds and executes all given dates.
+     * @param dates the dates.
+     * @return the number of rows bound.
+     * @throws RuntimeException if a SQLException occurs.
+     */
+    public int bindAll(Iterable<DateValue> dates) {
+        Batch batch = new Batch();
+        for (DateValue date : dates) {
+            batch.add(date.epochDay());
+        }
+        return batch.finish();
+    }
+
+    /**
+     * State of a single bindAll call. A new java.sql.Date is bound for every row because JDBC drivers may keep
+     * references to the parameter values until the batch is executed.
+     */
+    private final class Batch {
+
+        private final ZoneMidnights midnights = ZoneMidnights.forZone(TimeZone.getDefault());
+        private int pending;
+        private int rows;
+
+        void add(int epochDay) {
+            try {
+                statement.setDate(parameterIndex, new java.sql.Date(midnights.toMillis(epochDay)));
+                statement.addBatch();
+                rows++;
+                if (++pending == chunkSize) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        int finish() {
+            if (pending > 0) {
+                try {
+                    statement.executeBatch();
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+                pending = 0;
+            }
+            return rows;
+        }
+    }
+}
@@ -1,14 +1,10 @@
 package de.javandry.testutils;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import de.javandry.testutils.DateBuilderMetrics.Counter;
+
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.Locale;
-
-import static java.util.Calendar.*;
+import java.util.TimeZone;
 
 /**
  * Utility class for building/defining gregorian date values.<br/>
@@ -19,16 +15,43 @@ import static java.util.Calendar.*;
  *     DateBuilder.givenDate(15, 5, 2012).monthsAhead(4); // 15-09-2012
  *     DateBuilder.today().day(1).monthAhead(1); // first day of next month
  * </code>
+ * <br/>
+ * Internally the date is held as a primitive epoch-day (days since 1970-01-01) using proleptic gregorian
+ * arithmetic. No Calendar is involved, not even when the date is converted to a java.util.Date or java.sql.Date.<br/>
+ * Like the fields of a lenient Calendar, values set by {@link #day(int)}, {@link #month(int)} and
+ * {@link #year(int)} are normalized together on the next read or arithmetic operation, so
+ * <code>givenDate(29, 2, 2012)</code> is Feb 29th 2012 regardless of the current date.<br/>
+ * Chained operations are fused: once a date has been split into day, month and year, month and year arithmetic,
+ * {@link #lastDay()} and setting valid values work on these fields directly, later sets simply overwrite earlier
+ * ones, and the date is only joined back into an epoch-day when it is observed or moved by days. A chain like
+ * <code>today().yearsAgo(1).firstMonth().firstDay()</code> therefore costs one split and one join, while month ends
+ * are still pinned after every single month or year step.<br/>
+ * <br/>
+ * Equality, hash code and ordering are based on the date (day, month, year) only. They are computed from the
+ * epoch-day in constant time and never allocate, so DateBuilders are cheap keys in hash and tree based
+ * collections (as long as they are not modified while being used as keys).<br/>
+ * <br/>
+ * A DateBuilder is not thread-safe, and since reading a date joins pending fields, even reads modify it. To share an
+ * instance between threads, read it once after its last modification (e.g. with {@link #toValue()}) and publish it
+ * safely, or share an immutable {@link DateValue} instead.
  */
-public class DateBuilder {
+public class DateBuilder implements Comparable<DateBuilder> {
 
-    private final Calendar calendar;
+    private int epochDay;
+
+    private boolean fieldsPending;
+    private boolean fieldsNormalized;
+    private int pendingDay;
+    private int pendingMonth;
+    private int pendingYear;
 
     /**
      * Returns a new DateBuilder instance initialized with the current system date.
+     * The current date is taken from the default {@link DateClock}, which tests can replace to freeze "today".
      * @return the new DateBuilder instance.
      */
     public static DateBuilder today() {
+        DateBuilderMetrics.count(Counter.TODAY);
         return new DateBuilder();
     }
 
@@ -40,6 +63,7 @@ public class DateBuilder {
      * @return the new DateBuilder instance.
      */
     public static DateBuilder givenDate(int day, int month, int year) {
+        DateBuilderMetrics.count(Counter.GIVEN_DATE);
         return new DateBuilder(day, month, year);
     }
 
@@ -49,6 +73,7 @@ public class DateBuilder {
      * @return the new DateBuilder instance.
      */
     public static DateBuilder valueOf(Date date) {
+        DateBuilderMetrics.count(Counter.VALUE_OF);
         return new DateBuilder(date);
     }
 
@@ -61,6 +86,7 @@ public class DateBuilder {
      *          instance.
      */
     public static DateBuilder parse(String dateString) {
+        DateBuilderMetrics.count(Counter.PARSE);
         return new DateBuilder(dateString);
     }
 
@@ -74,6 +100,7 @@ public class DateBuilder {
      *          pattern for the given locale.
      */
     public static DateBuilder parse(String dateString, Locale locale) {
+        DateBuilderMetrics.count(Counter.PARSE_WITH_LOCALE);
         return new DateBuilder(dateString, locale);
     }
 
@@ -86,27 +113,97 @@ public class DateBuilder {
      * @throws RuntimeException if the given date string could not be parsed using the given date format pattern.
      */
     public static DateBuilder parse(String dateString, String format) {
+        DateBuilderMetrics.count(Counter.PARSE_WITH_FORMAT);
         return new DateBuilder(dateString, format);
     }
 
+    /**
+     * Returns a new DateBuilder instance initialized with the value of the given date string, or <code>null</code>
+     * if the date string could not be parsed.
+     * Uses the systems default DateFormat instance to parse the date string.
+     * @param dateString the date string.
+     * @return the new DateBuilder instance or <code>null</code>.
+     */
+    public static DateBuilder tryParse(String dateString) {
+        return tryParse(dateString, Locale.getDefault());
+    }
+
+    /**
+     * Returns a new DateBuilder instance initialized with the value of the given date string, or <code>null</code>
+     * if the date string could not be parsed.
+     * Uses the default DateFormat date style pattern for the given locale to parse the date string.
+     * @param dateString the date string.
+     * @param locale the locale.
+     * @return the new DateBuilder instance or <code>null</code>.
+     */
+    public static DateBuilder tryParse(String dateString, Locale locale) {
+        DateBuilderMetrics.count(Counter.TRY_PARSE);
+        long epochDay = DateText.parseEpochDay(dateString, locale, false);
+        return epochDay == FixedDatePattern.NO_MATCH ? null : new DateBuilder((int) epochDay);
+    }
+
+    /**
+     * Returns a new DateBuilder instance initialized with the value of the given date string, or <code>null</code>
+     * if the date string could not be parsed.
+     * Uses the given format pattern to parse the date string.
+     * @param dateString the date string.
+     * @param format the date format pattern.
+     * @return the new DateBuilder instance or <code>null</code>.
+     */
+    public static DateBuilder tryParse(String dateString, String format) {
+        return tryParse(dateString, 0, dateString.length(), format);
+    }
+
+    /**
+     * Returns a new DateBuilder instance initialized with the value of the given part of a text, or
+     * <code>null</code> if it could not be parsed.
+     * Uses the given format pattern to parse the text. Purely numeric fixed width patterns (like
+     * <code>dd.MM.yyyy</code> or <code>yyyy-MM-dd</code>) are parsed directly from the text without creating
+     * intermediate objects.
+     * @param text the text containing the date string.
+     * @param start the index of the first character of the date string.
+     * @param end the index after the last character of the date string.
+     * @param format the date format pattern.
+     * @return the new DateBuilder instance or <code>null</code>.
+     */
+    public static DateBuilder tryParse(CharSequence text, int start, int end, String format) {
+        DateBuilderMetrics.count(Counter.TRY_PARSE);
+        long epochDay = DateText.parseEpochDay(text, start, end, format, false);
+        return epochDay == FixedDatePattern.NO_MATCH ? null : new DateBuilder((int) epochDay);
+    }
+
+    /**
+     * Returns a new DateBuilder instance initialized with the given epoch-day.
+     * @param epochDay the number of days since 1970-01-01.
+     * @return the new DateBuilder instance.
+     */
+    static DateBuilder ofEpochDay(int epochDay) {
+        return new DateBuilder(epochDay);
+    }
+
     private DateBuilder() {
-        calendar = new GregorianCalendar();
-        calendar.set(HOUR_OF_DAY, 0);
-        calendar.set(MINUTE, 0);
-        calendar.set(SECOND, 0);
-        calendar.set(MILLISECOND, 0);
+        this(DateClock.getDefault().today().epochDay());
+    }
+
+    private DateBuilder(int epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    private DateBuilder(DateBuilder original) {
+        this.epochDay = original.epochDay;
+        this.fieldsPending = original.fieldsPending;
+        this.fieldsNormalized = original.fieldsNormalized;
+        this.pendingDay = original.pendingDay;
+        this.pendingMonth = original.pendingMonth;
+        this.pendingYear = original.pendingYear;
     }
 
     private DateBuilder(int day, int month, int year) {
-        this();
-        day(day);
-        month(month);
-        year(year);
+        this(EpochDays.of(year, month, day));
     }
 
     private DateBuilder(Date date) {
-        this();
-        calendar.setTime(date);
+        this(EpochDays.ofMillis(date.getTime(), TimeZone.getDefault()));
     }
 
     private DateBuilder(String dateString) {
@@ -114,20 +211,11 @@ public class DateBuilder {
     }
 
     private DateBuilder(String dateString, Locale locale) {
-        this(dateString, DateFormat.getDateInstance(DateFormat.DEFAULT, locale));
+        this((int) DateText.parseEpochDay(dateString, locale, true));
     }
 
     private DateBuilder(String dateString, String format) {
-        this(dateString, new SimpleDateFormat(format));
-    }
-
-    private DateBuilder(String dateString, DateFormat dateFormat) {
-        this();
-        try {
-            calendar.setTime(dateFormat.parse(dateString));
-        } catch (ParseException e) {
-            throw new RuntimeException(e);
-        }
+        this((int) DateText.parseEpochDay(dateString, 0, dateString.length(), format, true));
     }
 
     /**
@@ -135,7 +223,7 @@ public class DateBuilder {
      * @return the day.
      */
     public int getDay() {
-        return calendar.get(DAY_OF_MONTH);
+        return fieldsNormalized ? pendingDay : EpochDays.day(EpochDays.toPacked(epochDay()));
     }
 
     /**
@@ -143,7 +231,7 @@ public class DateBuilder {
      * @return the month.
      */
     public int getMonth() {
-        return calendar.get(MONTH) + 1;
+        return fieldsNormalized ? pendingMonth : EpochDays.month(EpochDays.toPacked(epochDay()));
     }
 
     /**
@@ -151,7 +239,7 @@ public class DateBuilder {
      * @return the year.
      */
     public int getYear() {
-        return calendar.get(YEAR);
+        return fieldsNormalized ? pendingYear : EpochDays.year(EpochDays.toPacked(epochDay()));
     }
 
     /**
@@ -177,7 +265,9 @@ public class DateBuilder {
      * @return the incremented DateBuilder instance.
      */
     public DateBuilder daysAhead(int days) {
-        calendar.add(DAY_OF_MONTH, days);
+        if (days != 0) {
+            epochDay = epochDay() + days;
+        }
         return this;
     }
 
@@ -195,7 +285,9 @@ public class DateBuilder {
      * @return the modified DateBuilder instance.
      */
     public DateBuilder day(int day) {
-        calendar.set(DAY_OF_MONTH, day);
+        pendingFields();
+        pendingDay = day;
+        fieldsNormalized &= day >= 1 && day <= EpochDays.lengthOfMonth(pendingYear, pendingMonth);
         return this;
     }
 
@@ -212,7 +304,281 @@ public class DateBuilder {
      * @return the modified DateBuilder instance.
      */
     public DateBuilder lastDay() {
-        return nextMonth().firstDay().daysAgo(1);
+        normalizedFields();
+        pendingDay = EpochDays.lengthOfMonth(pendingYear, pendingMonth);
+        return this;
+    }
+
+    /**
+     * Returns the current DateBuilder instance incremented by the given number of working days (days that are
+     * neither saturday nor sunday).
+     * @param workdays the number of working days.
+     * @return the incremented DateBuilder instance.
+     * @throws IllegalArgumentException if the resulting date is out of range.
+     */
+    public DateBuilder workdaysAhead(int workdays) {
+        return workdaysAhead(workdays, HolidayCalendar.weekendsOnly());
+    }
+
+    /**
+     * Returns the current DateBuilder instance incremented by the given number of working days of the given
+     * calendar.
+     * @param workdays the number of working days.
+     * @param holidays the calendar defining weekend days and holidays.
+     * @return the incremented DateBuilder instance.
+     * @throws IllegalArgumentException if the resulting date is out of range.
+     */
+    public DateBuilder workdaysAhead(int workdays, HolidayCalendar holidays) {
+        epochDay = holidays.plusWorkdays(epochDay(), workdays);
+        return this;
+    }
+
+    /**
+     * Returns the current DateBuilder instance decremented by the given number of working days (days that are
+     * neither saturday nor sunday).
+     * @param workdays the number of working days.
+     * @return the decremented DateBuilder instance.
+     * @throws IllegalArgumentException if the resulting date is out of range.
+     */
+    public DateBuilder workdaysAgo(int workdays) {
+        return workdaysAhead(-workdays);
+    }
+
+    /**
+     * Returns the current DateBuilder instance decremented by the given number of working days of the given
+     * calendar.
+     * @param workdays the number of working days.
+     * @param holidays the calendar defining weekend days and holidays.
+     * @return the decremented DateBuilder instance.
+     * @throws IllegalArgumentException if the resulting date is out of range.
+     */
+    public DateBuilder workdaysAgo(int workdays, HolidayCalendar holidays) {
+        return workdaysAhead(-workdays, holidays);
+    }
+
+    /**
+     * Returns the current DateBuilder instance set to the next working day (the next day that is neither saturday
+     * nor sunday).
+     * @return the modified DateBuilder instance.
+     */
+    public DateBuilder nextWorkday() {
+        return workdaysAhead(1);
+    }
+
+    /**
+     * Returns the current DateBuilder instance set to the next working day of the given calendar.
+     * @param holidays the calendar defining weekend days and holidays.
+     * @return the modified DateBuilder instance.
+     */
+    public DateBuilder nextWorkday(HolidayCalendar holidays) {
+        return workdaysAhead(1, holidays);
+    }
+
+    /**
+     * Returns the number of working days (days that are neither saturday nor sunday) after the current
+     * DateBuilder instance up to and including the given date. The result is negative if the given date is before
+     * the current one.
+     * @param other the other date.
+     * @return the number of working days.
+     */
+    public int workdaysBetween(DateBuilder other) {
+        return workdaysBetween(other, HolidayCalendar.weekendsOnly());
+    }
+
+    /**
+     * Returns the number of working days of the given calendar after the current DateBuilder instance up to and
+     * including the given date. The result is negative if the given date is before the current one.
+     * @param other the other date.
+     * @param holidays the calendar defining weekend days and holidays.
+     * @return the number of working days.
+     */
+    public int workdaysBetween(DateBuilder other, HolidayCalendar holidays) {
+        return holidays.workdaysBetween(epochDay(), other.epochDay());
+    }
+
+    /**
+     * Returns the number of days from the current DateBuilder instance to the given date. The result is negative if
+     * the given date is before the current one.
+     * @param other the other date.
+     * @return the number of days.
+     */
+    public int daysBetween(DateBuilder other) {
+        return other.epochDay() - epochDay();
+    }
+
+    /**
+     * Returns the number of whole months from the current DateBuilder instance to the given date, with the same end
+     * of month rules as {@link #monthsAhead(int)}: the largest number of months that, added to the current date, does
+     * not pass the given date. So Jan 31st to Feb 29th is one month and Jan 31st to Feb 28th 2012 zero months. The
+     * result is negative if the given date is before the current one.
+     * @param other the other date.
+     * @return the number of months.
+     */
+    public int monthsBetween(DateBuilder other) {
+        return EpochDays.monthsBetween(epochDay(), other.epochDay());
+    }
+
+    /**
+     * Returns the number of whole years from the current DateBuilder instance to the given date, with the same end
+     * of month rules as {@link #yearsAhead(int)} (Feb 29th to Feb 28th of the following year is one year). The result
+     * is negative if the given date is before the current one.
+     * @param other the other date.
+     * @return the number of years.
+     */
+    public int yearsBetween(DateBuilder other) {
+        return monthsBetween(other) / 12;
+    }
+
+    /**
+     * Returns the years, months and days from the current DateBuilder instance to the given date. Moving the current
+     * date by the years and months and then by the days of the period yields the given date.
+     * @param other the other date.
+     * @return the DatePeriod.
+     */
+    public DatePeriod periodBetween(DateBuilder other) {
+        return DatePeriod.between(epochDay(), other.epochDay());
+    }
+
+    /**
+     * Computes the number of days between each pair of epoch-days (days since 1970-01-01) of the given arrays in one
+     * pass, <code>result[i] = to[i] - from[i]</code>.
+     * @param from the first epoch-days.
+     * @param to the second epoch-days.
+     * @param result the array to store the differences in, may be one of the given arrays.
+     * @return the given result array.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public static int[] daysBetween(int[] from, int[] to, int[] result) {
+        checkSameLength(from, to, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = to[i] - from[i];
+        }
+        return result;
+    }
+
+    /**
+     * Computes the number of whole months (see {@link #monthsBetween(DateBuilder)}) between each pair of epoch-days
+     * (days since 1970-01-01) of the given arrays in one pass.
+     * @param from the first epoch-days.
+     * @param to the second epoch-days.
+     * @param result the array to store the differences in, may be one of the given arrays.
+     * @return the given result array.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public static int[] monthsBetween(int[] from, int[] to, int[] result) {
+        checkSameLength(from, to, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = EpochDays.monthsBetween(from[i], to[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the number of whole years (see {@link #yearsBetween(DateBuilder)}) between each pair of epoch-days
+     * (days since 1970-01-01) of the given arrays in one pass.
+     * @param from the first epoch-days.
+     * @param to the second epoch-days.
+     * @param result the array to store the differences in, may be one of the given arrays.
+     * @return the given result array.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public static int[] yearsBetween(int[] from, int[] to, int[] result) {
+        checkSameLength(from, to, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = EpochDays.monthsBetween(from[i], to[i]) / 12;
+        }
+        return result;
+    }
+
+    private static void checkSameLength(int[] from, int[] to, int[] result) {
+        if (from.length != to.length || from.length != result.length) {
+            throw new IllegalArgumentException(
+                    "arrays differ in length: " + from.length + ", " + to.length + ", " + result.length);
+        }
+    }
+
+    /**
+     * Returns the ISO week (1 to 53) of the current DateBuilder instance. ISO weeks start on monday, week 1 is the
+     * week containing the first thursday of the year.
+     * @return the ISO week.
+     */
+    public int getIsoWeek() {
+        return PeriodTables.isoWeek(epochDay());
+    }
+
+    /**
+     * Returns the ISO week-based year of the current DateBuilder instance, which differs from the calendar year for a
+     * few days around new year (e.g. Dec 31st 2012 is in week 1 of 2013).
+     * @return the week-based year.
+     */
+    public int getIsoWeekYear() {
+        return PeriodTables.isoWeekYear(epochDay());
+    }
+
+    /**
+     * Returns the current DateBuilder instance decremented by the given number of weeks.
+     * @param weeks the number of weeks.
+     * @return the decremented DateBuilder instance.
+     */
+    public DateBuilder weeksAgo(int weeks) {
+        return weeksAhead(-weeks);
+    }
+
+    /**
+     * Returns the current DateBuilder instance decremented by one week.
+     * @return the decremented DateBuilder instance.
+     */
+    public DateBuilder previousWeek() {
+        return weeksAgo(1);
+    }
+
+    /**
+     * Returns the current DateBuilder instance incremented by the given number of weeks.
+     * @param weeks the number of weeks.
+     * @return the incremented DateBuilder instance.
+     */
+    public DateBuilder weeksAhead(int weeks) {
+        return daysAhead(weeks * 7);
+    }
+
+    /**
+     * Returns the current DateBuilder instance incremented by one week.
+     * @return the incremented DateBuilder instance.
+     */
+    public DateBuilder nextWeek() {
+        return weeksAhead(1);
+    }
+
+    /**
+     * Returns the current DateBuilder instance set to the same day of week in the given ISO week of its week-based
+     * year. Weeks beyond the last week of the year continue into the following year.
+     * @param week the ISO week.
+     * @return the modified DateBuilder instance.
+     */
+    public DateBuilder isoWeek(int week) {
+        int current = epochDay();
+        epochDay = PeriodTables.ofIsoWeek(PeriodTables.isoWeekYear(current), week, EpochDays.dayOfWeek(current));
+        return this;
+    }
+
+    /**
+     * Returns the current DateBuilder instance set to the first day (monday) of its ISO week.
+     * @return the modified DateBuilder instance.
+     */
+    public DateBuilder firstDayOfWeek() {
+        int current = epochDay();
+        epochDay = current - EpochDays.dayOfWeek(current) + 1;
+        return this;
+    }
+
+    /**
+     * Returns the current DateBuilder instance set to the last day (sunday) of its ISO week.
+     * @return the modified DateBuilder instance.
+     */
+    public DateBuilder lastDayOfWeek() {
+        int current = epochDay();
+        epochDay = current - EpochDays.dayOfWeek(current) + 7;
+        return this;
     }
 
     /**
@@ -238,7 +604,14 @@ public class DateBuilder {
      * @return the incremented DateBuilder instance.
      */
     public DateBuilder monthsAhead(int months) {
-        calendar.add(MONTH, months);
+        if (months == 0) {
+            return this;
+        }
+        normalizedFields();
+        long monthIndex = (long) pendingYear * 12 + pendingMonth - 1 + months;
+        pendingYear = (int) EpochDays.floorDiv(monthIndex, 12);
+        pendingMonth = (int) (monthIndex - (long) pendingYear * 12) + 1;
+        pendingDay = Math.min(pendingDay, EpochDays.lengthOfMonth(pendingYear, pendingMonth));
         return this;
     }
 
@@ -256,7 +629,10 @@ public class DateBuilder {
      * @return the modified DateBuilder instance.
      */
     public DateBuilder month(int month) {
-        calendar.set(MONTH, month - 1);
+        pendingFields();
+        pendingMonth = month;
+        fieldsNormalized &= month >= 1 && month <= 12
+                && pendingDay <= EpochDays.lengthOfMonth(pendingYear, month);
         return this;
     }
 
@@ -299,8 +675,7 @@ public class DateBuilder {
      * @return the incremented DateBuilder instance.
      */
     public DateBuilder yearsAhead(int years) {
-        calendar.add(YEAR, years);
-        return this;
+        return monthsAhead(years * 12);
     }
 
     /**
@@ -317,7 +692,86 @@ public class DateBuilder {
      * @return the modified DateBuilder instance.
      */
     public DateBuilder year(int year) {
-        calendar.set(YEAR, year);
+        pendingFields();
+        pendingYear = year;
+        fieldsNormalized &= pendingDay <= EpochDays.lengthOfMonth(year, pendingMonth);
+        return this;
+    }
+
+    /**
+     * Returns the quarter (1 to 4) of the current DateBuilder instance.
+     * @return the quarter.
+     */
+    public int getQuarter() {
+        return PeriodTables.quarter(epochDay());
+    }
+
+    /**
+     * Returns the current DateBuilder instance set to the first day of its quarter.
+     * @return the modified DateBuilder instance.
+     */
+    public DateBuilder firstDayOfQuarter() {
+        epochDay = PeriodTables.firstDayOfQuarter(epochDay());
+        return this;
+    }
+
+    /**
+     * Returns the current DateBuilder instance set to the last day of its quarter.
+     * @return the modified DateBuilder instance.
+     */
+    public DateBuilder lastDayOfQuarter() {
+        epochDay = PeriodTables.lastDayOfQuarter(epochDay());
+        return this;
+    }
+
+    /**
+     * Returns the fiscal year of the current DateBuilder instance in the given fiscal calendar.
+     * @param fiscalCalendar the fiscal calendar.
+     * @return the fiscal year.
+     * @see FiscalCalendar#fiscalYear(DateValue)
+     */
+    public int getFiscalYear(FiscalCalendar fiscalCalendar) {
+        return fiscalCalendar.fiscalYear(epochDay());
+    }
+
+    /**
+     * Returns the fiscal period (1 to 12) of the current DateBuilder instance in the given fiscal calendar.
+     * @param fiscalCalendar the fiscal calendar.
+     * @return the fiscal period.
+     */
+    public int getFiscalPeriod(FiscalCalendar fiscalCalendar) {
+        return fiscalCalendar.fiscalPeriod(epochDay());
+    }
+
+    /**
+     * Returns the current DateBuilder instance set to the first day of its fiscal period in the given fiscal
+     * calendar.
+     * @param fiscalCalendar the fiscal calendar.
+     * @return the modified DateBuilder instance.
+     */
+    public DateBuilder firstDayOfFiscalPeriod(FiscalCalendar fiscalCalendar) {
+        epochDay = fiscalCalendar.firstDayOfFiscalPeriod(epochDay());
+        return this;
+    }
+
+    /**
+     * Returns the current DateBuilder instance set to the last day of its fiscal period in the given fiscal calendar.
+     * @param fiscalCalendar the fiscal calendar.
+     * @return the modified DateBuilder instance.
+     */
+    public DateBuilder lastDayOfFiscalPeriod(FiscalCalendar fiscalCalendar) {
+        epochDay = fiscalCalendar.lastDayOfFiscalPeriod(epochDay());
+        return this;
+    }
+
+    /**
+     * Returns the current DateBuilder instance moved as described by the given expression, e.g.
+     * <code>apply(DateExpression.compile("last day of next month"))</code>.
+     * @param expression the date expression.
+     * @return the modified DateBuilder instance.
+     */
+    public DateBuilder apply(DateExpression expression) {
+        epochDay = expression.evaluate(epochDay());
         return this;
     }
 
@@ -327,7 +781,16 @@ public class DateBuilder {
      * @return the java.util.Date.
      */
     public Date toDate() {
-        return calendar.getTime();
+        return new Date(ZoneMidnights.forZone(TimeZone.getDefault()).toMillis(epochDay()));
+    }
+
+    /**
+     * Converts the current date to a java.util.Date at midnight in the given time zone.
+     * @param zone the time zone.
+     * @return the java.util.Date.
+     */
+    public Date toDate(TimeZone zone) {
+        return new Date(ZoneMidnights.forZone(zone).toMillis(epochDay()));
     }
 
     /**
@@ -336,7 +799,45 @@ public class DateBuilder {
      * @return the java.sql.Date.
      */
     public java.sql.Date toSqlDate() {
-        return new java.sql.Date(calendar.getTimeInMillis());
+        return new java.sql.Date(ZoneMidnights.forZone(TimeZone.getDefault()).toMillis(epochDay()));
+    }
+
+    /**
+     * Sets the given (reusable) Date to midnight of the current date in the default time zone. Works for java.sql.Date
+     * and java.sql.Timestamp as well.
+     * @param date the Date to overwrite.
+     * @return the given Date.
+     */
+    public <D extends Date> D writeTo(D date) {
+        date.setTime(ZoneMidnights.forZone(TimeZone.getDefault()).toMillis(epochDay()));
+        return date;
+    }
+
+    /**
+     * Returns the number of days between 1970-01-01 and the current date (negative for earlier dates).
+     * @return the epoch-day.
+     */
+    public int toEpochDay() {
+        return epochDay();
+    }
+
+    /**
+     * Returns the milliseconds since 1970-01-01T00:00:00Z of midnight of the current date in the given time zone.
+     * @param zone the time zone.
+     * @return the milliseconds.
+     */
+    public long toEpochMillis(TimeZone zone) {
+        return ZoneMidnights.forZone(zone).toMillis(epochDay());
+    }
+
+    /**
+     * Returns the milliseconds since 1970-01-01T00:00:00Z of midnight of the current date in the time zone with the given ID.
+     * @param zoneId the time zone ID, e.g. <code>Europe/Berlin</code> or <code>GMT+02:00</code>.
+     * @return the milliseconds.
+     * @throws IllegalArgumentException if there is no time zone with the given ID.
+     */
+    public long toEpochMillis(String zoneId) {
+        return ZoneMidnights.forZone(zoneId).toMillis(epochDay());
     }
 
     /**
@@ -346,7 +847,100 @@ public class DateBuilder {
      */
     @Override
     public String toString() {
-        return DateFormat.getDateInstance().format(calendar.getTime());
+        return DateText.format(epochDay());
+    }
+
+    /**
+     * Appends the current DateBuilder instance to the given StringBuilder, formatted just like {@link #toString()}.
+     * Purely numeric date formats (like the german <code>dd.MM.y</code>) are written directly to the StringBuilder
+     * without creating intermediate objects, as long as the year has four digits.
+     * @param target the StringBuilder.
+     * @return the given StringBuilder.
+     */
+    public StringBuilder formatTo(StringBuilder target) {
+        return DateText.formatTo(epochDay(), target);
+    }
+
+    /**
+     * Appends the current DateBuilder instance to the given Appendable, formatted using the given format pattern.
+     * Purely numeric fixed width patterns (like <code>dd.MM.yyyy</code> or <code>yyyy-MM-dd</code>) are written
+     * directly to the Appendable without creating intermediate objects.
+     * @param target the Appendable.
+     * @param format the date format pattern.
+     * @return the given Appendable.
+     * @throws RuntimeException if the Appendable throws an IOException.
+     */
+    public <A extends Appendable> A formatTo(A target, String format) {
+        return DateText.formatTo(epochDay(), target, format);
+    }
+
+    /**
+     * Returns a new, independent DateBuilder instance with the same date as the current one. Copying costs a few
+     * field assignments (no Calendar is involved), so a base date can be copied for each derived date instead of
+     * being rebuilt.
+     * @return the new DateBuilder instance.
+     */
+    public DateBuilder copy() {
+        return new DateBuilder(this);
+    }
+
+    /**
+     * Returns a new DateBuilder instance moved from the current one by the given amount of the given unit, leaving
+     * the current instance unchanged. <code>base.derive(2, DateUnit.MONTHS)</code> is the same as
+     * <code>base.copy().monthsAhead(2)</code>.
+     * @param amount the amount of units (negative to move backwards).
+     * @param unit the unit.
+     * @return the new DateBuilder instance.
+     */
+    public DateBuilder derive(int amount, DateUnit unit) {
+        return new DateBuilder(unit.plus(epochDay(), amount));
+    }
+
+    /**
+     * Returns the dates moved from the current DateBuilder instance by each of the given amounts of the given unit,
+     * leaving the current instance unchanged. Each date is computed from the current date, so month steps do not
+     * drift at month ends (Jan 31st by 1, 2, 3 months is Feb 29th, Mar 31st, Apr 30th).
+     * @param unit the unit.
+     * @param offsets the amounts of units.
+     * @return the derived dates, in the order of the offsets.
+     */
+    public DateValue[] deriveAll(DateUnit unit, int... offsets) {
+        int base = epochDay();
+        DateValue[] dates = new DateValue[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            dates[i] = DateValue.ofEpochDay(unit.plus(base, offsets[i]));
+        }
+        return dates;
+    }
+
+    /**
+     * Stores the epoch-days (days since 1970-01-01) of the dates moved from the current DateBuilder instance by each
+     * of the given amounts of the given unit in the given array, like {@link #deriveAll(DateUnit, int...)} but
+     * without creating an object per date.
+     * @param unit the unit.
+     * @param offsets the amounts of units.
+     * @param epochDays the array to store the epoch-days in, may be the offsets array.
+     * @return the given epochDays array.
+     * @throws IllegalArgumentException if the arrays do not have the same length.
+     */
+    public int[] deriveAll(DateUnit unit, int[] offsets, int[] epochDays) {
+        if (offsets.length != epochDays.length) {
+            throw new IllegalArgumentException(
+                    "arrays differ in length: " + offsets.length + ", " + epochDays.length);
+        }
+        int base = epochDay();
+        for (int i = 0; i < offsets.length; i++) {
+            epochDays[i] = unit.plus(base, offsets[i]);
+        }
+        return epochDays;
+    }
+
+    /**
+     * Converts the current DateBuilder instance to an immutable DateValue.
+     * @return the DateValue.
+     */
+    public DateValue toValue() {
+        return DateValue.ofEpochDay(epochDay());
     }
 
     /**
@@ -372,7 +966,7 @@ public class DateBuilder {
 
         DateBuilder that = (DateBuilder) otherObject;
 
-        return !(calendar != null ? !calendar.equals(that.calendar) : that.calendar != null);
+        return epochDay() == that.epochDay();
     }
 
     /**
@@ -382,6 +976,54 @@ public class DateBuilder {
      */
     @Override
     public int hashCode() {
-        return calendar != null ? calendar.hashCode() : 0;
+        return EpochDays.hash(epochDay());
+    }
+
+    /**
+     * Compares this DateBuilder instance with the given one by their dates.
+     * @param other the other DateBuilder instance.
+     * @return a negative value, zero or a positive value if this date is before, the same as or after the other date.
+     * @see Comparable#compareTo(Object)
+     */
+    @Override
+    public int compareTo(DateBuilder other) {
+        return Integer.compare(epochDay(), other.epochDay());
+    }
+
+    /**
+     * Returns the epoch-day of this instance, normalizing pending day/month/year values first.
+     */
+    int epochDay() {
+        if (fieldsPending) {
+            epochDay = EpochDays.of(pendingYear, pendingMonth, pendingDay);
+            fieldsPending = false;
+            fieldsNormalized = false;
+        }
+        return epochDay;
+    }
+
+    /**
+     * Unpacks the current epoch-day into the pending day/month/year values, unless they are already pending.
+     */
+    private void pendingFields() {
+        if (!fieldsPending) {
+            int packed = EpochDays.toPacked(epochDay);
+            pendingDay = EpochDays.day(packed);
+            pendingMonth = EpochDays.month(packed);
+            pendingYear = EpochDays.year(packed);
+            fieldsPending = true;
+            fieldsNormalized = true;
+        }
+    }
+
+    /**
+     * Makes the pending day/month/year values a valid date (normalizing values set out of range first), which is
+     * what month arithmetic needs to pin the day like <code>Calendar.add</code> does.
+     */
+    private void normalizedFields() {
+        if (!fieldsNormalized) {
+            epochDay();
+            pendingFields();
+        }
     }
 }
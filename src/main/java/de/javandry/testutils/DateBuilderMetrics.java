@@ -0,0 +1,259 @@
+package de.javandry.testutils;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional usage counters of DateBuilder: factory calls, parse failures, formatter cache hits and misses, formatter
+ * and Calendar constructions.<br/>
+ * <br/>
+ * Counting is disabled by default; a disabled counter costs a single read of a volatile flag. Enabled counters are
+ * striped <code>LongAdder</code>s, so concurrent tests do not contend on them. They are created on the first
+ * {@link #enable()}; until then all counters are 0. The counters can be read with
+ * {@link #snapshot()} and, after {@link #registerMBean()}, through JMX as
+ * <code>de.javandry.testutils:type=DateBuilderMetrics</code>.<br/>
+ * <br/>
+ * Example (asserting a performance budget):<br/>
+ * <code>
+ *     DateBuilderMetrics.enable();
+ *     DateBuilderMetrics.Snapshot before = DateBuilderMetrics.snapshot();
+ *     ... // code under test
+ *     assertEquals(0, DateBuilderMetrics.snapshot().minus(before).get(DateBuilderMetrics.Counter.FORMATTER_CREATED));
+ * </code>
+ */
+public final class DateBuilderMetrics {
+
+    /**
+     * The counted events.
+     */
+    public enum Counter {
+        /** Calls of {@link DateBuilder#today()}. */
+        TODAY,
+        /** Calls of {@link DateBuilder#givenDate(int, int, int)}. */
+        GIVEN_DATE,
+        /** Calls of {@link DateBuilder#valueOf(java.util.Date)}. */
+        VALUE_OF,
+        /** Calls of {@link DateBuilder#parse(String)}. */
+        PARSE,
+        /** Calls of {@link DateBuilder#parse(String, java.util.Locale)}. */
+        PARSE_WITH_LOCALE,
+        /** Calls of {@link DateBuilder#parse(String, String)}. */
+        PARSE_WITH_FORMAT,
+        /** Calls of any of the <code>DateBuilder.tryParse</code> methods. */
+        TRY_PARSE,
+        /** Date strings that could not be parsed (by <code>parse</code> or <code>tryParse</code>). */
+        PARSE_FAILURE,
+        /** Date strings parsed by the fixed width fast path, without a DateFormat. */
+        PARSE_FAST_PATH,
+        /** DateFormats taken from the per thread cache. */
+        FORMATTER_CACHE_HIT,
+        /** DateFormats not found in the per thread cache. */
+        FORMATTER_CACHE_MISS,
+        /** Constructed DateFormat instances. */
+        FORMATTER_CREATED,
+        /** Calendar instances constructed to detect the calendar system of a locale (once per locale). */
+        CALENDAR_CREATED
+    }
+
+    private static final Counter[] COUNTERS = Counter.values();
+
+    private static volatile boolean enabled;
+
+    /**
+     * Whether the {@link Adders} have been created. Checked before reading them, as reading them would create them.
+     */
+    private static volatile boolean created;
+
+    private DateBuilderMetrics() {
+    }
+
+    /**
+     * Starts counting.
+     */
+    public static void enable() {
+        Adders.initialize();
+        enabled = true;
+    }
+
+    /**
+     * Stops counting. The counters keep their values.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Indicates whether counting is enabled.
+     * @return <code>true</code> if counting is enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Resets all counters to 0. Events counted concurrently to the reset may or may not be lost.
+     */
+    public static void reset() {
+        if (created) {
+            for (LongAdder adder : Adders.ADDERS) {
+                adder.reset();
+            }
+        }
+    }
+
+    /**
+     * Returns the current values of all counters.
+     * @return the snapshot.
+     */
+    public static Snapshot snapshot() {
+        long[] values = new long[COUNTERS.length];
+        if (created) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Adders.ADDERS[i].sum();
+            }
+        }
+        return new Snapshot(values);
+    }
+
+    /**
+     * Registers the counters with the platform MBean server as
+     * <code>de.javandry.testutils:type=DateBuilderMetrics</code>, unless they are already registered.
+     * @throws RuntimeException if the MBean could not be registered.
+     */
+    public static void registerMBean() {
+        MXBean.register();
+    }
+
+    static void count(Counter counter) {
+        if (enabled) {
+            Adders.ADDERS[counter.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Holder of the counters, initialized on the first {@link #enable()}, so that the LongAdder classes are not
+     * loaded by applications that never count.
+     */
+    private static final class Adders {
+
+        static final LongAdder[] ADDERS = new LongAdder[COUNTERS.length];
+
+        static {
+            for (int i = 0; i < ADDERS.length; i++) {
+                ADDERS[i] = new LongAdder();
+            }
+        }
+
+        static void initialize() {
+            created = true;
+        }
+    }
+
+    /**
+     * Immutable values of all counters at a point in time.
+     */
+    public static final class Snapshot {
+
+        private final long[] values;
+
+        private Snapshot(long[] values) {
+            this.values = values;
+        }
+
+        /**
+         * Returns the value of the given counter.
+         * @param counter the counter.
+         * @return the value.
+         */
+        public long get(Counter counter) {
+            return values[counter.ordinal()];
+        }
+
+        /**
+         * Returns the difference of this and the given earlier snapshot, i.e. the events counted in between.
+         * @param earlier the earlier snapshot.
+         * @return the difference.
+         */
+        public Snapshot minus(Snapshot earlier) {
+            long[] difference = new long[values.length];
+            for (int i = 0; i < difference.length; i++) {
+                difference[i] = values[i] - earlier.values[i];
+            }
+            return new Snapshot(difference);
+        }
+
+        /**
+         * Returns the values of all counters.
+         * @return the values by counter.
+         */
+        public Map<Counter, Long> toMap() {
+            Map<Counter, Long> map = new EnumMap<Counter, Long>(Counter.class);
+            for (Counter counter : COUNTERS) {
+                map.put(counter, values[counter.ordinal()]);
+            }
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return toMap().toString();
+        }
+    }
+
+    private static final class MXBean implements DateBuilderMetricsMXBean {
+
+        /**
+         * Registers a new instance with the platform MBean server. Lives here rather than in the enclosing class, so
+         * that the JMX classes are only loaded when the metrics are actually exposed.
+         */
+        static void register() {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName(DateBuilderMetricsMXBean.OBJECT_NAME);
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(new StandardMBean(new MXBean(), DateBuilderMetricsMXBean.class, true), name);
+                }
+            } catch (InstanceAlreadyExistsException e) {
+                // registered concurrently
+            } catch (JMException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return DateBuilderMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            if (enabled) {
+                enable();
+            } else {
+                disable();
+            }
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            Map<String, Long> counters = new TreeMap<String, Long>();
+            for (Map.Entry<Counter, Long> entry : snapshot().toMap().entrySet()) {
+                counters.put(entry.getKey().name(), entry.getValue());
+            }
+            return counters;
+        }
+
+        @Override
+        public void reset() {
+            DateBuilderMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package de.javandry.testutils;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link DateBuilderMetrics} counters.
+ */
+public interface DateBuilderMetricsMXBean {
+
+    /**
+     * The object name the counters are registered with.
+     */
+    String OBJECT_NAME = "de.javandry.testutils:type=DateBuilderMetrics";
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns the current values of all counters by counter name.
+     * @return the counters.
+     */
+    Map<String, Long> getCounters();
+
+    void reset();
+}
@@ -0,0 +1,132 @@
+package de.javandry.testutils;
+
+import java.util.TimeZone;
+import java.util.function.LongSupplier;
+
+/**
+ * Source of the current date used by {@link DateBuilder#today()} and {@link DateValue#today()}.<br/>
+ * <br/>
+ * By default the current date is taken from the system clock. Tests can freeze or shift "today" by setting a
+ * different default clock:<br/>
+ * <code>
+ *     DateClock.setDefault(DateClock.fixed(DateValue.givenDate(14, 12, 1972)));
+ *     DateClock.setDefault(DateClock.offset(DateClock.system(), -1)); // today is yesterday
+ *     DateClock.setDefault(DateClock.system()); // back to normal
+ * </code>
+ * <br/>
+ * Custom clocks can be plugged in by extending this class.
+ */
+public abstract class DateClock {
+
+    private static volatile DateClock defaultClock = system();
+
+    /**
+     * Returns the clock currently used by {@link DateBuilder#today()} and {@link DateValue#today()}.
+     * @return the default clock.
+     */
+    public static DateClock getDefault() {
+        return defaultClock;
+    }
+
+    /**
+     * Sets the clock to be used by {@link DateBuilder#today()} and {@link DateValue#today()}.
+     * @param clock the clock or <code>null</code> to use the system clock.
+     */
+    public static void setDefault(DateClock clock) {
+        defaultClock = clock != null ? clock : system();
+    }
+
+    /**
+     * Returns a clock reading the current date from the system time in the default time zone.<br/>
+     * The current date is cached and only recomputed when the system time passes the next midnight or the default
+     * time zone changes, so reading it costs a call to <code>System.currentTimeMillis()</code>, a few comparisons and
+     * a call to <code>TimeZone.getDefault()</code>, which allocates a copy of the default time zone on every call.
+     * @return the system clock.
+     */
+    public static DateClock system() {
+        return new SystemClock(System::currentTimeMillis);
+    }
+
+    /**
+     * Returns a clock that always returns the given date.
+     * @param today the date.
+     * @return the fixed clock.
+     */
+    public static DateClock fixed(final DateValue today) {
+        return new DateClock() {
+            @Override
+            public DateValue today() {
+                return today;
+            }
+        };
+    }
+
+    /**
+     * Returns a clock that returns the date of the given clock moved by the given number of days.
+     * @param clock the underlying clock.
+     * @param days the number of days (may be negative).
+     * @return the offset clock.
+     */
+    public static DateClock offset(final DateClock clock, final int days) {
+        return new DateClock() {
+            @Override
+            public DateValue today() {
+                return clock.today().daysAhead(days);
+            }
+        };
+    }
+
+    /**
+     * Returns the current date of this clock.
+     * @return the current date.
+     */
+    public abstract DateValue today();
+
+    static final class SystemClock extends DateClock {
+
+        private final LongSupplier currentTimeMillis;
+        private volatile Snapshot snapshot = new Snapshot(null, null, Long.MAX_VALUE, Long.MIN_VALUE);
+
+        SystemClock(LongSupplier currentTimeMillis) {
+            this.currentTimeMillis = currentTimeMillis;
+        }
+
+        @Override
+        public DateValue today() {
+            long now = currentTimeMillis.getAsLong();
+            TimeZone zone = TimeZone.getDefault();
+            Snapshot current = snapshot;
+            if (now < current.startMillis || now >= current.endMillis || !zone.getID().equals(current.zoneId)) {
+                current = Snapshot.of(now, zone);
+                snapshot = current;
+            }
+            return current.today;
+        }
+    }
+
+    /**
+     * Immutable current date together with the time zone and the time interval (from midnight to the next midnight)
+     * it is valid for.
+     */
+    private static final class Snapshot {
+
+        final DateValue today;
+        final String zoneId;
+        final long startMillis;
+        final long endMillis;
+
+        static Snapshot of(long millis, TimeZone zone) {
+            int epochDay = EpochDays.ofMillis(millis, zone);
+            return new Snapshot(DateValue.ofEpochDay(epochDay), zone.getID(),
+                    EpochDays.toMillis(epochDay, zone),
+                    EpochDays.toMillis(epochDay + 1, zone));
+        }
+
+        Snapshot(DateValue today, String zoneId, long startMillis, long endMillis) {
+            this.today = today;
+            this.zoneId = zoneId;
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+        }
+    }
+}
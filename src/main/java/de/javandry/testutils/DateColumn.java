@@ -0,0 +1,126 @@
+package de.javandry.testutils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of parsing a date column with a {@link DateColumnParser}: the epoch-days of all data rows and the rows
+ * that could not be parsed.
+ */
+public final class DateColumn {
+
+    /**
+     * Epoch-day stored for rows that could not be parsed.
+     */
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    private final int[] epochDays;
+    private final List<ParseError> errors;
+
+    DateColumn(int[] epochDays, List<ParseError> errors) {
+        this.epochDays = epochDays;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Returns the number of data rows (all lines except the skipped header lines and blank lines).
+     * @return the number of rows.
+     */
+    public int size() {
+        return epochDays.length;
+    }
+
+    /**
+     * Returns the epoch-days (days since 1970-01-01) of all data rows, {@link #INVALID} for rows that could not be
+     * parsed. The array is not copied.
+     * @return the epoch-days.
+     */
+    public int[] epochDays() {
+        return epochDays;
+    }
+
+    /**
+     * Returns the date of the given data row.
+     * @param row the (0 based) row index.
+     * @return the date.
+     * @throws IllegalStateException if the row could not be parsed.
+     */
+    public DateValue get(int row) {
+        int epochDay = epochDays[row];
+        if (epochDay == INVALID) {
+            throw new IllegalStateException("row " + row + " could not be parsed");
+        }
+        return DateValue.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Indicates whether any row could not be parsed.
+     * @return <code>true</code> if there are errors.
+     */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * Returns the rows that could not be parsed, ordered by line number.
+     * @return the errors.
+     */
+    public List<ParseError> errors() {
+        return errors;
+    }
+
+    /**
+     * A row that could not be parsed.
+     */
+    public static final class ParseError {
+
+        private final int line;
+        private final int row;
+        private final String text;
+        private final String message;
+
+        ParseError(int line, int row, String text, String message) {
+            this.line = line;
+            this.row = row;
+            this.text = text;
+            this.message = message;
+        }
+
+        /**
+         * Returns the (1 based) line number in the file.
+         * @return the line number.
+         */
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * Returns the (0 based) index of the data row.
+         * @return the row index.
+         */
+        public int getRow() {
+            return row;
+        }
+
+        /**
+         * Returns the text of the date cell, or <code>null</code> if the line has no such column.
+         * @return the cell text.
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Returns the description of the error.
+         * @return the message.
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package de.javandry.testutils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Parses one date column of a large CSV/TSV fixture file in parallel.<br/>
+ * <br/>
+ * The file is memory-mapped and split into chunks on line boundaries, which are parsed concurrently on a fork/join
+ * pool. Each cell is parsed just like {@link DateBuilder#parse(String, String)} does; purely numeric fixed width
+ * patterns (like <code>yyyy-MM-dd</code>) are read straight from the mapped bytes without creating a String. Rows
+ * that can not be parsed do not stop the parser, they are reported with their line numbers in the resulting
+ * {@link DateColumn}.<br/>
+ * <br/>
+ * Cells are separated by a single character and may be enclosed in double quotes; quoted separators are not
+ * supported. Blank lines are ignored. The charset must be ASCII compatible (like UTF-8 or ISO-8859-1).<br/>
+ * <br/>
+ * Example:<br/>
+ * <code>
+ *     DateColumn dates = DateColumnParser.forPattern("yyyy-MM-dd").column(2).separator(';').skipLines(1)
+ *             .parse(new File("bookings.csv"));
+ *     assertTrue(dates.errors().toString(), !dates.hasErrors());
+ * </code>
+ */
+public final class DateColumnParser {
+
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    private static final int MAX_CHUNK_SIZE = 1 << 28;
+
+    private final String pattern;
+    private final int column;
+    private final char separator;
+    private final int skipLines;
+    private final Charset charset;
+    private final ForkJoinPool pool;
+
+    /**
+     * Returns a parser of the first column of comma separated UTF-8 files using the given date format pattern.
+     * @param pattern the date format pattern.
+     * @return the DateColumnParser.
+     */
+    public static DateColumnParser forPattern(String pattern) {
+        return new DateColumnParser(pattern, 0, ',', 0, Charset.forName("UTF-8"), ForkJoinPool.commonPool());
+    }
+
+    private DateColumnParser(String pattern, int column, char separator, int skipLines, Charset charset,
+                             ForkJoinPool pool) {
+        if (column < 0) {
+            throw new IllegalArgumentException("column must not be negative: " + column);
+        }
+        if (separator > 0x7F || separator == '\n' || separator == '\r' || separator == '"') {
+            throw new IllegalArgumentException("invalid separator: '" + separator + "'");
+        }
+        if (skipLines < 0) {
+            throw new IllegalArgumentException("number of lines to skip must not be negative: " + skipLines);
+        }
+        this.pattern = pattern;
+        this.column = column;
+        this.separator = separator;
+        this.skipLines = skipLines;
+        this.charset = charset;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns a parser of the given column.
+     * @param column the (0 based) column index.
+     * @return the DateColumnParser.
+     */
+    public DateColumnParser column(int column) {
+        return new DateColumnParser(pattern, column, separator, skipLines, charset, pool);
+    }
+
+    /**
+     * Returns a parser using the given column separator (e.g. <code>'\t'</code> for TSV files).
+     * @param separator the separator, an ASCII character.
+     * @return the DateColumnParser.
+     */
+    public DateColumnParser separator(char separator) {
+        return new DateColumnParser(pattern, column, separator, skipLines, charset, pool);
+    }
+
+    /**
+     * Returns a parser skipping the given number of header lines.
+     * @param skipLines the number of lines.
+     * @return the DateColumnParser.
+     */
+    public DateColumnParser skipLines(int skipLines) {
+        return new DateColumnParser(pattern, column, separator, skipLines, charset, pool);
+    }
+
+    /**
+     * Returns a parser reading files in the given (ASCII compatible) charset.
+     * @param charset the charset.
+     * @return the DateColumnParser.
+     */
+    public DateColumnParser charset(Charset charset) {
+        return new DateColumnParser(pattern, column, separator, skipLines, charset, pool);
+    }
+
+    /**
+     * Returns a parser running on the given pool instead of the common pool.
+     * @param pool the pool.
+     * @return the DateColumnParser.
+     */
+    public DateColumnParser pool(ForkJoinPool pool) {
+        return new DateColumnParser(pattern, column, separator, skipLines, charset, pool);
+    }
+
+    /**
+     * Parses the date column of the given file.
+     * @param file the file.
+     * @return the parsed column.
+     * @throws RuntimeException if the file could not be read.
+     */
+    public DateColumn parse(File file) {
+        try {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                return parse(randomAccessFile.getChannel());
+            } finally {
+                randomAccessFile.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private DateColumn parse(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long start = 0;
+        for (int line = 0; line < skipLines && start < size; line++) {
+            start = nextLineStart(channel, start, size);
+        }
+        long[] boundaries = boundaries(channel, start, size);
+
+        List<Future<Chunk>> futures = new ArrayList<Future<Chunk>>();
+        for (int i = 0; i + 1 < boundaries.length; i++) {
+            final MappedByteBuffer buffer =
+                    channel.map(FileChannel.MapMode.READ_ONLY, boundaries[i], boundaries[i + 1] - boundaries[i]);
+            futures.add(pool.submit(new Callable<Chunk>() {
+                @Override
+                public Chunk call() {
+                    return parseChunk(buffer);
+                }
+            }));
+        }
+
+        List<Chunk> chunks = new ArrayList<Chunk>();
+        int rows = 0;
+        for (Future<Chunk> future : futures) {
+            Chunk chunk = get(future);
+            chunks.add(chunk);
+            rows += chunk.rows;
+        }
+
+        int[] epochDays = new int[rows];
+        List<DateColumn.ParseError> errors = new ArrayList<DateColumn.ParseError>();
+        int row = 0;
+        int line = skipLines;
+        for (Chunk chunk : chunks) {
+            System.arraycopy(chunk.epochDays, 0, epochDays, row, chunk.rows);
+            for (DateColumn.ParseError error : chunk.errors) {
+                errors.add(new DateColumn.ParseError(line + error.getLine(), row + error.getRow(), error.getText(),
+                        error.getMessage()));
+            }
+            row += chunk.rows;
+            line += chunk.lines;
+        }
+        return new DateColumn(epochDays, errors);
+    }
+
+    private static Chunk get(Future<Chunk> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Splits the given part of the file into chunks starting at line starts.
+     */
+    private long[] boundaries(FileChannel channel, long start, long end) throws IOException {
+        long chunkSize = Math.max(MIN_CHUNK_SIZE,
+                Math.min(MAX_CHUNK_SIZE, (end - start) / (4L * pool.getParallelism()) + 1));
+        long[] boundaries = new long[16];
+        int count = 0;
+        boundaries[count++] = start;
+        long position = start;
+        while (position < end) {
+            position = position + chunkSize >= end ? end : nextLineStart(channel, position + chunkSize - 1, end);
+            if (count == boundaries.length) {
+                boundaries = Arrays.copyOf(boundaries, count * 2);
+            }
+            boundaries[count++] = position;
+        }
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * Returns the position after the next line feed at or after the given position, or the end of the file.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (position < end) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return end;
+    }
+
+    private Chunk parseChunk(ByteBuffer buffer) {
+        Chunk chunk = new Chunk();
+        Cell cell = new Cell(buffer, charset);
+        int limit = buffer.limit();
+        int position = 0;
+        while (position < limit) {
+            int lineStart = position;
+            while (position < limit && buffer.get(position) != '\n') {
+                position++;
+            }
+            int lineEnd = position > lineStart && buffer.get(position - 1) == '\r' ? position - 1 : position;
+            position++;
+            chunk.lines++;
+            if (lineEnd > lineStart) {
+                parseLine(buffer, lineStart, lineEnd, cell, chunk);
+            }
+        }
+        return chunk;
+    }
+
+    private void parseLine(ByteBuffer buffer, int lineStart, int lineEnd, Cell cell, Chunk chunk) {
+        int cellStart = lineStart;
+        for (int i = 0; i < column; i++) {
+            while (cellStart < lineEnd && buffer.get(cellStart) != separator) {
+                cellStart++;
+            }
+            if (cellStart == lineEnd) {
+                chunk.add(DateColumn.INVALID, null, "no column " + column);
+                return;
+            }
+            cellStart++;
+        }
+        int cellEnd = cellStart;
+        while (cellEnd < lineEnd && buffer.get(cellEnd) != separator) {
+            cellEnd++;
+        }
+        if (cellEnd - cellStart >= 2 && buffer.get(cellStart) == '"' && buffer.get(cellEnd - 1) == '"') {
+            cellStart++;
+            cellEnd--;
+        }
+        cell.set(cellStart, cellEnd);
+        long epochDay = DateText.parseEpochDay(cell, 0, cell.length(), pattern, false);
+        if (epochDay == FixedDatePattern.NO_MATCH) {
+            String text = cell.toString();
+            chunk.add(DateColumn.INVALID, text, "Unparseable date: \"" + text + "\"");
+        } else {
+            chunk.add((int) epochDay, null, null);
+        }
+    }
+
+    /**
+     * Parse result of a single chunk with line and row numbers relative to the chunk.
+     */
+    private static final class Chunk {
+
+        int lines;
+        int rows;
+        int[] epochDays = new int[1024];
+        final List<DateColumn.ParseError> errors = new ArrayList<DateColumn.ParseError>();
+
+        void add(int epochDay, String text, String message) {
+            if (rows == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, rows * 2);
+            }
+            if (message != null) {
+                errors.add(new DateColumn.ParseError(lines, rows, text, message));
+            }
+            epochDays[rows++] = epochDay;
+        }
+    }
+
+    /**
+     * Reusable view of a cell of the mapped file as CharSequence. Single bytes are returned as chars (which is
+     * correct for the ASCII digits and separators the fast path looks at); sub sequences are decoded with the
+     * charset of the file.
+     */
+    private static final class Cell implements CharSequence {
+
+        private final ByteBuffer buffer;
+        private final Charset charset;
+        private int start;
+        private int end;
+
+        Cell(ByteBuffer buffer, Charset charset) {
+            this.buffer = buffer;
+            this.charset = charset;
+        }
+
+        void set(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public String subSequence(int from, int to) {
+            byte[] bytes = new byte[to - from];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(start + from + i);
+            }
+            return new String(bytes, charset);
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length());
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package de.javandry.testutils;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled relative date expression like <code>today-2d</code>, <code>first day of next month</code> or
+ * <code>last day of month +3M</code>.<br/>
+ * <br/>
+ * An expression is a sequence of the following terms (case insensitive, separated by blanks where needed), applied
+ * from left to right to a base date:
+ * <ul>
+ *     <li><code>today</code> - the base date itself (optional, only allowed as first term)</li>
+ *     <li><code>tomorrow</code>, <code>yesterday</code> - one day ahead / ago</li>
+ *     <li><code>+n</code> or <code>-n</code> followed by a unit <code>d</code> (days), <code>w</code> (weeks),
+ *     <code>m</code> (months) or <code>y</code> (years), e.g. <code>+3M</code>. Months and years are added like
+ *     {@link DateBuilder#monthsAhead(int)} does, pinning the day to the last day of the resulting month.</li>
+ *     <li><code>next</code>, <code>last</code> or <code>previous</code> followed by <code>week</code>,
+ *     <code>month</code> or <code>year</code> - one unit ahead / ago</li>
+ *     <li><code>first day of</code> or <code>last day of</code> followed by <code>week</code> (monday to sunday),
+ *     <code>month</code> or <code>year</code>, optionally preceded by <code>this</code>, <code>next</code>,
+ *     <code>last</code> or <code>previous</code></li>
+ * </ul>
+ * Expressions are compiled once into a compact program of integer operations and cached by their text, so
+ * evaluating an expression for each row of a large test data file costs a few integer operations and, for
+ * {@link DateBuilder#apply(DateExpression)} and dates between 1900 and 2099 of {@link DateValue#apply(DateExpression)},
+ * no allocation. Instances are immutable and thread-safe.<br/>
+ * <br/>
+ * Examples:<br/>
+ * <code>
+ *     DateExpression.compile("first day of next month").evaluate(); // relative to today
+ *     DateExpression.compile("last day of month +3M").evaluate(givenDate(14, 1, 2012)); // 30-04-2012
+ *     DateBuilder.today().apply(DateExpression.compile("today-2d"));
+ * </code>
+ */
+public final class DateExpression {
+
+    private static final int MAX_CACHED_EXPRESSIONS = 1024;
+
+    private static final ConcurrentMap<String, DateExpression> EXPRESSIONS =
+            new ConcurrentHashMap<String, DateExpression>();
+
+    private static final int PLUS_DAYS = 0;
+    private static final int PLUS_MONTHS = 1;
+    private static final int FIRST_DAY_OF_WEEK = 2;
+    private static final int LAST_DAY_OF_WEEK = 3;
+    private static final int FIRST_DAY_OF_MONTH = 4;
+    private static final int LAST_DAY_OF_MONTH = 5;
+    private static final int FIRST_DAY_OF_YEAR = 6;
+    private static final int LAST_DAY_OF_YEAR = 7;
+
+    private final String text;
+
+    /**
+     * Pairs of opcode and operand.
+     */
+    private final int[] program;
+
+    /**
+     * Returns the compiled form of the given expression. Compiled expressions are cached by their text.
+     * @param expression the expression text.
+     * @return the DateExpression.
+     * @throws IllegalArgumentException if the text is no valid expression.
+     */
+    public static DateExpression compile(String expression) {
+        DateExpression compiled = EXPRESSIONS.get(expression);
+        if (compiled == null) {
+            compiled = new DateExpression(expression, new Compiler(expression).compile());
+            if (EXPRESSIONS.size() < MAX_CACHED_EXPRESSIONS) {
+                EXPRESSIONS.putIfAbsent(expression, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    private DateExpression(String text, int[] program) {
+        this.text = text;
+        this.program = program;
+    }
+
+    /**
+     * Evaluates this expression relative to today's date of the default {@link DateClock}.
+     * @return the resulting date.
+     */
+    public DateValue evaluate() {
+        return evaluate(DateClock.getDefault().today());
+    }
+
+    /**
+     * Evaluates this expression relative to the given base date.
+     * @param base the base date.
+     * @return the resulting date.
+     */
+    public DateValue evaluate(DateValue base) {
+        return DateValue.ofEpochDay(evaluate(base.epochDay()));
+    }
+
+    int evaluate(int epochDay) {
+        int[] program = this.program;
+        for (int i = 0; i < program.length; i += 2) {
+            int operand = program[i + 1];
+            switch (program[i]) {
+                case PLUS_DAYS:
+                    epochDay += operand;
+                    break;
+                case PLUS_MONTHS:
+                    epochDay = EpochDays.plusMonths(epochDay, operand);
+                    break;
+                case FIRST_DAY_OF_WEEK:
+                    epochDay -= EpochDays.dayOfWeek(epochDay) - 1;
+                    break;
+                case LAST_DAY_OF_WEEK:
+                    epochDay += 7 - EpochDays.dayOfWeek(epochDay);
+                    break;
+                case FIRST_DAY_OF_MONTH:
+                    epochDay -= EpochDays.day(EpochDays.toPacked(epochDay)) - 1;
+                    break;
+                case LAST_DAY_OF_MONTH: {
+                    int packed = EpochDays.toPacked(epochDay);
+                    epochDay += EpochDays.lengthOfMonth(EpochDays.year(packed), EpochDays.month(packed))
+                            - EpochDays.day(packed);
+                    break;
+                }
+                case FIRST_DAY_OF_YEAR:
+                    epochDay = EpochDays.of(EpochDays.year(EpochDays.toPacked(epochDay)), 1, 1);
+                    break;
+                default:
+                    epochDay = EpochDays.of(EpochDays.year(EpochDays.toPacked(epochDay)), 12, 31);
+                    break;
+            }
+        }
+        return epochDay;
+    }
+
+    /**
+     * Returns the text this expression was compiled from.
+     * @return the expression text.
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * Single use recursive descent compiler of an expression text into the op program.
+     */
+    private static final class Compiler {
+
+        private final String text;
+        private int position;
+        private int[] program = new int[8];
+        private int length;
+
+        Compiler(String text) {
+            this.text = text;
+        }
+
+        int[] compile() {
+            skipBlanks();
+            if (position < text.length() && Character.isLetter(text.charAt(position))) {
+                int start = position;
+                if (!word().equals("today")) {
+                    position = start;
+                }
+            }
+            while (skipBlanks() < text.length()) {
+                char c = text.charAt(position);
+                if (c == '+' || c == '-') {
+                    offset();
+                } else if (Character.isLetter(c)) {
+                    phrase();
+                } else {
+                    throw error("unexpected character '" + c + "'");
+                }
+            }
+            return Arrays.copyOf(program, length);
+        }
+
+        private void offset() {
+            int sign = text.charAt(position++) == '-' ? -1 : 1;
+            int start = skipBlanks();
+            long amount = 0;
+            while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                amount = amount * 10 + text.charAt(position++) - '0';
+                if (amount > Integer.MAX_VALUE) {
+                    throw error("amount too large");
+                }
+            }
+            if (position == start) {
+                throw error("amount expected");
+            }
+            if (position == text.length()) {
+                throw error("unit (d, w, m, y) expected");
+            }
+            int opcode;
+            int factor;
+            switch (Character.toLowerCase(text.charAt(position++))) {
+                case 'd':
+                    opcode = PLUS_DAYS;
+                    factor = 1;
+                    break;
+                case 'w':
+                    opcode = PLUS_DAYS;
+                    factor = 7;
+                    break;
+                case 'm':
+                    opcode = PLUS_MONTHS;
+                    factor = 1;
+                    break;
+                case 'y':
+                    opcode = PLUS_MONTHS;
+                    factor = 12;
+                    break;
+                default:
+                    position--;
+                    throw error("unit (d, w, m, y) expected");
+            }
+            if (amount > Integer.MAX_VALUE / factor) {
+                position = start;
+                throw error("amount too large");
+            }
+            emit(opcode, sign * (int) amount * factor);
+        }
+
+        private void phrase() {
+            int start = skipBlanks();
+            String word = word();
+            if (word.equals("tomorrow")) {
+                emit(PLUS_DAYS, 1);
+            } else if (word.equals("yesterday")) {
+                emit(PLUS_DAYS, -1);
+            } else if (word.equals("next") || word.equals("last") || word.equals("previous")) {
+                int direction = word.equals("next") ? 1 : -1;
+                int unitStart = skipBlanks();
+                String unit = word();
+                if (word.equals("last") && unit.equals("day")) {
+                    position = unitStart;
+                    dayOf(LAST_DAY_OF_WEEK);
+                } else {
+                    plusUnit(unit, direction, unitStart);
+                }
+            } else if (word.equals("first")) {
+                dayOf(FIRST_DAY_OF_WEEK);
+            } else {
+                position = start;
+                throw error("unexpected \"" + word + "\"");
+            }
+        }
+
+        private void dayOf(int firstOrLastDayOfWeek) {
+            expect("day");
+            expect("of");
+            int start = skipBlanks();
+            String word = word();
+            int direction = 0;
+            if (word.equals("next")) {
+                direction = 1;
+            } else if (word.equals("last") || word.equals("previous")) {
+                direction = -1;
+            } else if (!word.equals("this")) {
+                position = start;
+            }
+            int unitStart = skipBlanks();
+            String unit = word();
+            int unitOffset;
+            if (unit.equals("week")) {
+                unitOffset = 0;
+            } else if (unit.equals("month")) {
+                unitOffset = 2;
+            } else if (unit.equals("year")) {
+                unitOffset = 4;
+            } else {
+                position = unitStart;
+                throw error("week, month or year expected");
+            }
+            if (firstOrLastDayOfWeek == FIRST_DAY_OF_WEEK) {
+                emit(firstOrLastDayOfWeek + unitOffset, 0);
+                if (direction != 0) {
+                    plusUnit(unit, direction, unitStart);
+                }
+            } else {
+                if (direction != 0) {
+                    plusUnit(unit, direction, unitStart);
+                }
+                emit(firstOrLastDayOfWeek + unitOffset, 0);
+            }
+        }
+
+        private void plusUnit(String unit, int amount, int unitStart) {
+            if (unit.equals("week")) {
+                emit(PLUS_DAYS, amount * 7);
+            } else if (unit.equals("month")) {
+                emit(PLUS_MONTHS, amount);
+            } else if (unit.equals("year")) {
+                emit(PLUS_MONTHS, amount * 12);
+            } else {
+                position = unitStart;
+                throw error("week, month or year expected");
+            }
+        }
+
+        private void expect(String expected) {
+            int start = skipBlanks();
+            if (!word().equals(expected)) {
+                position = start;
+                throw error("\"" + expected + "\" expected");
+            }
+        }
+
+        private String word() {
+            int start = skipBlanks();
+            while (position < text.length() && Character.isLetter(text.charAt(position))) {
+                position++;
+            }
+            return text.substring(start, position).toLowerCase(Locale.ENGLISH);
+        }
+
+        private int skipBlanks() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+            return position;
+        }
+
+        private void emit(int opcode, int operand) {
+            if (opcode == PLUS_DAYS && length > 0 && program[length - 2] == PLUS_DAYS) {
+                try {
+                    program[length - 1] = Math.addExact(program[length - 1], operand);
+                } catch (ArithmeticException e) {
+                    throw error("offset too large");
+                }
+                return;
+            }
+            if (length == program.length) {
+                program = Arrays.copyOf(program, length * 2);
+            }
+            program[length++] = opcode;
+            program[length++] = operand;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(
+                    message + " at position " + position + " of date expression \"" + text + "\"");
+        }
+    }
+}
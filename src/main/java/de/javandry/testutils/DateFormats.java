@@ -0,0 +1,135 @@
+package de.javandry.testutils;
+
+import de.javandry.testutils.DateBuilderMetrics.Counter;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of reusable DateFormat instances keyed by locale and pattern.<br/>
+ * <br/>
+ * DateFormat is not thread-safe, so the instances are confined to the calling thread: each thread has its own small
+ * LRU cache holding at most {@link #MAX_FORMATS_PER_THREAD} formats, so arbitrary user patterns can not pile up.
+ * A returned DateFormat must only be used by the calling thread and must not be handed out to other code.
+ */
+final class DateFormats {
+
+    static final int MAX_FORMATS_PER_THREAD = 32;
+
+    private static final ThreadLocal<Map<Key, DateFormat>> FORMATS = new ThreadLocal<Map<Key, DateFormat>>() {
+        @Override
+        protected Map<Key, DateFormat> initialValue() {
+            return new LinkedHashMap<Key, DateFormat>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, DateFormat> eldest) {
+                    return size() > MAX_FORMATS_PER_THREAD;
+                }
+            };
+        }
+    };
+
+    private static final ConcurrentMap<Locale, Boolean> GREGORIAN_LOCALES = new ConcurrentHashMap<Locale, Boolean>();
+
+    private DateFormats() {
+    }
+
+    /**
+     * Indicates whether date formats of the given locale use the gregorian calendar (most do, but e.g. the thai
+     * locale uses the buddhist calendar).
+     * @param locale the locale.
+     * @return <code>true</code> if the locale uses the gregorian calendar, otherwise <code>false</code>.
+     */
+    static boolean isGregorian(Locale locale) {
+        Boolean gregorian = GREGORIAN_LOCALES.get(locale);
+        if (gregorian == null) {
+            DateBuilderMetrics.count(Counter.CALENDAR_CREATED);
+            gregorian = Calendar.getInstance(locale) instanceof GregorianCalendar;
+            GREGORIAN_LOCALES.putIfAbsent(locale, gregorian);
+        }
+        return gregorian;
+    }
+
+    /**
+     * Returns the default style date format of the given locale (see
+     * <code>DateFormat.getDateInstance(DateFormat.DEFAULT, locale)</code>), set to the given time zone.
+     * @param locale the locale.
+     * @param zone the time zone.
+     * @return the thread confined DateFormat.
+     */
+    static DateFormat forLocale(Locale locale, TimeZone zone) {
+        return get(null, locale, zone);
+    }
+
+    /**
+     * Returns a date format for the given pattern and the systems default locale (see
+     * <code>new SimpleDateFormat(pattern)</code>), set to the given time zone.
+     * @param pattern the date format pattern.
+     * @param zone the time zone.
+     * @return the thread confined DateFormat.
+     */
+    static DateFormat forPattern(String pattern, TimeZone zone) {
+        return get(pattern, Locale.getDefault(), zone);
+    }
+
+    /**
+     * Discards all date formats cached for the calling thread.
+     */
+    static void clear() {
+        FORMATS.remove();
+    }
+
+    private static DateFormat get(String pattern, Locale locale, TimeZone zone) {
+        Map<Key, DateFormat> formats = FORMATS.get();
+        Key key = new Key(pattern, locale);
+        DateFormat dateFormat = formats.get(key);
+        if (dateFormat == null) {
+            DateBuilderMetrics.count(Counter.FORMATTER_CACHE_MISS);
+            DateBuilderMetrics.count(Counter.FORMATTER_CREATED);
+            dateFormat = pattern == null
+                    ? DateFormat.getDateInstance(DateFormat.DEFAULT, locale)
+                    : new SimpleDateFormat(pattern, locale);
+            EpochDays.makeProleptic(dateFormat.getCalendar());
+            formats.put(key, dateFormat);
+        } else {
+            DateBuilderMetrics.count(Counter.FORMATTER_CACHE_HIT);
+        }
+        if (!zone.equals(dateFormat.getTimeZone())) {
+            dateFormat.setTimeZone(zone);
+        }
+        return dateFormat;
+    }
+
+    private static final class Key {
+
+        private final String pattern;
+        private final Locale locale;
+
+        Key(String pattern, Locale locale) {
+            this.pattern = pattern;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object otherObject) {
+            if (this == otherObject) return true;
+            if (otherObject == null || getClass() != otherObject.getClass()) return false;
+
+            Key that = (Key) otherObject;
+
+            return locale.equals(that.locale) && (pattern != null ? pattern.equals(that.pattern) : that.pattern == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * locale.hashCode() + (pattern != null ? pattern.hashCode() : 0);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package de.javandry.testutils;
+
+/**
+ * Immutable amount of time between two dates in years, months and days, like <code>1 year, 2 months and 3
+ * days</code>.<br/>
+ * <br/>
+ * The months are counted with the same end of month rules as {@link DateBuilder#monthsAhead(int)}, so moving the
+ * first date by the years and months and then by the days of a period always yields the second date. All parts of a
+ * period have the same sign.
+ *
+ * @see DateBuilder#periodBetween(DateBuilder)
+ * @see DateValue#periodBetween(DateValue)
+ */
+public final class DatePeriod {
+
+    private final int years;
+    private final int months;
+    private final int days;
+
+    static DatePeriod between(int from, int to) {
+        int totalMonths = EpochDays.monthsBetween(from, to);
+        return new DatePeriod(totalMonths / 12, totalMonths % 12, to - EpochDays.plusMonths(from, totalMonths));
+    }
+
+    private DatePeriod(int years, int months, int days) {
+        this.years = years;
+        this.months = months;
+        this.days = days;
+    }
+
+    /**
+     * Returns the years part of this period.
+     * @return the years.
+     */
+    public int getYears() {
+        return years;
+    }
+
+    /**
+     * Returns the months part (-11 to 11) of this period.
+     * @return the months.
+     */
+    public int getMonths() {
+        return months;
+    }
+
+    /**
+     * Returns the days part of this period.
+     * @return the days.
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Returns the total number of months of this period (the years part times twelve plus the months part).
+     * @return the total months.
+     */
+    public int toTotalMonths() {
+        return years * 12 + months;
+    }
+
+    /**
+     * @see Object#equals(Object)
+     */
+    @Override
+    public boolean equals(Object otherObject) {
+        if (this == otherObject) return true;
+        if (otherObject == null || getClass() != otherObject.getClass()) return false;
+
+        DatePeriod that = (DatePeriod) otherObject;
+
+        return years == that.years && months == that.months && days == that.days;
+    }
+
+    /**
+     * @see Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return (31 * years + months) * 31 + days;
+    }
+
+    /**
+     * Returns this period in ISO-8601 format, e.g. <code>P1Y2M3D</code> or <code>P0D</code>.
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        if (years == 0 && months == 0 && days == 0) {
+            return "P0D";
+        }
+        StringBuilder builder = new StringBuilder("P");
+        if (years != 0) {
+            builder.append(years).append('Y');
+        }
+        if (months != 0) {
+            builder.append(months).append('M');
+        }
+        if (days != 0) {
+            builder.append(days).append('D');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,223 @@
+package de.javandry.testutils;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable, lazily evaluated range of dates from a first date up to (and including) a last date, stepping by a
+ * given amount of days, weeks, months or years.<br/>
+ * <br/>
+ * Every element is computed from the first date and its index, so month and year steps do not drift at month ends
+ * (Jan 31st by one month is Jan 31st, Feb 28th/29th, Mar 31st, ...). The size of a range is known exactly and its
+ * spliterator splits in constant time, so even ranges of millions of dates can be processed by parallel streams.<br/>
+ * <br/>
+ * Examples:<br/>
+ * <code>
+ *     DateRange.between(givenDate(1, 1, 2012), givenDate(31, 12, 2012)); // every day of 2012
+ *     DateRange.between(givenDate(31, 1, 2012), givenDate(31, 12, 2012)).every(1, DateUnit.MONTHS); // month ends
+ *     DateRange.between(first, last).parallelStream().filter(...).count();
+ * </code>
+ */
+public final class DateRange implements Iterable<DateValue> {
+
+    private final int firstDay;
+    private final int lastDay;
+    private final int amount;
+    private final DateUnit unit;
+    private final int size;
+
+    /**
+     * Returns the daily range from the given first date up to (and including) the given last date.
+     * The range is empty if the last date is before the first date.
+     * @param first the first date.
+     * @param last the last date.
+     * @return the DateRange.
+     */
+    public static DateRange between(DateValue first, DateValue last) {
+        return new DateRange(first.epochDay(), last.epochDay(), 1, DateUnit.DAYS);
+    }
+
+    /**
+     * Returns the daily range from the given first date up to (and including) the given last date.
+     * The range is empty if the last date is before the first date.
+     * @param first the first date.
+     * @param last the last date.
+     * @return the DateRange.
+     */
+    public static DateRange between(DateBuilder first, DateBuilder last) {
+        return new DateRange(first.epochDay(), last.epochDay(), 1, DateUnit.DAYS);
+    }
+
+    private DateRange(int firstDay, int lastDay, int amount, DateUnit unit) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("amount must be positive: " + amount);
+        }
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.amount = amount;
+        this.unit = unit;
+        this.size = computeSize();
+    }
+
+    private int computeSize() {
+        if (lastDay < firstDay) {
+            return 0;
+        }
+        long steps;
+        if (unit == DateUnit.DAYS || unit == DateUnit.WEEKS) {
+            steps = ((long) lastDay - firstDay) / (unit == DateUnit.WEEKS ? 7L * amount : amount);
+        } else {
+            int first = EpochDays.toPacked(firstDay);
+            int last = EpochDays.toPacked(lastDay);
+            long months = ((long) EpochDays.year(last) - EpochDays.year(first)) * 12
+                    + EpochDays.month(last) - EpochDays.month(first);
+            long monthsPerStep = unit == DateUnit.YEARS ? 12L * amount : amount;
+            steps = months / monthsPerStep;
+            if (unit.plus(firstDay, steps * amount) > lastDay) {
+                steps--;
+            }
+        }
+        if (steps >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("range has too many elements");
+        }
+        return (int) steps + 1;
+    }
+
+    /**
+     * Returns a range with the same first and last date, stepping by the given amount of the given unit.
+     * @param amount the (positive) amount of units per step.
+     * @param unit the unit.
+     * @return the DateRange.
+     * @throws IllegalArgumentException if the amount is not positive.
+     */
+    public DateRange every(int amount, DateUnit unit) {
+        return new DateRange(firstDay, lastDay, amount, unit);
+    }
+
+    /**
+     * Returns the number of dates in this range.
+     * @return the number of dates.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the date at the given index of this range.
+     * @param index the index.
+     * @return the date.
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size of the range.
+     */
+    public DateValue get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return DateValue.ofEpochDay(epochDay(index));
+    }
+
+    int epochDay(int index) {
+        return unit.plus(firstDay, (long) index * amount);
+    }
+
+    @Override
+    public Iterator<DateValue> iterator() {
+        return new Iterator<DateValue>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public DateValue next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return DateValue.ofEpochDay(epochDay(index++));
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<DateValue> spliterator() {
+        return new DateSpliterator(this, 0, size);
+    }
+
+    /**
+     * Returns a sequential stream of the dates in this range.
+     * @return the stream.
+     */
+    public Stream<DateValue> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream of the dates in this range.
+     * @return the stream.
+     */
+    public Stream<DateValue> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private static final class DateSpliterator implements Spliterator<DateValue> {
+
+        private final DateRange range;
+        private int index;
+        private final int fence;
+
+        DateSpliterator(DateRange range, int index, int fence) {
+            this.range = range;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super DateValue> action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(DateValue.ofEpochDay(range.epochDay(index++)));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super DateValue> action) {
+            for (int i = index; i < fence; i++) {
+                action.accept(DateValue.ofEpochDay(range.epochDay(i)));
+            }
+            index = fence;
+        }
+
+        @Override
+        public Spliterator<DateValue> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            DateSpliterator prefix = new DateSpliterator(range, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super DateValue> getComparator() {
+            return null;
+        }
+    }
+}
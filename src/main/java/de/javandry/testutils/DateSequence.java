@@ -0,0 +1,290 @@
+package de.javandry.testutils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Compact, growable sequence of dates stored as primitive epoch-days (4 bytes per date).<br/>
+ * <br/>
+ * The dates are held in an int array or, for very large fixture tables, in an off-heap direct ByteBuffer. Bulk
+ * operations like {@link #plus(int, DateUnit)} and {@link #sort()} work directly on the primitive values, and the
+ * views returned by {@link #asDates()} and {@link #asSqlDates()} only create Date objects when an element is
+ * accessed. A DateSequence is not thread-safe.<br/>
+ * <br/>
+ * Examples:<br/>
+ * <code>
+ *     DateSequence dates = DateSequence.of(DateRange.between(first, last));
+ *     dates.plus(3, DateUnit.DAYS); // every date three days later
+ *     dates.asSqlDates().get(42); // the 43rd date as java.sql.Date
+ * </code>
+ */
+public final class DateSequence {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Maximum number of dates backed by an int array (the largest array most VMs can allocate).
+     */
+    static final int MAX_ON_HEAP_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Maximum number of dates backed by a direct ByteBuffer (whose size in bytes is limited to the int range).
+     */
+    static final int MAX_OFF_HEAP_CAPACITY = Integer.MAX_VALUE / 4;
+
+    private final boolean offHeap;
+    private IntBuffer epochDays;
+    private int size;
+
+    /**
+     * Returns a new, empty DateSequence backed by an int array.
+     * @return the new DateSequence.
+     */
+    public static DateSequence onHeap() {
+        return new DateSequence(false, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns a new, empty DateSequence backed by an off-heap direct ByteBuffer of the given initial capacity.
+     * @param initialCapacity the number of dates to reserve space for.
+     * @return the new DateSequence.
+     * @throws IllegalArgumentException if the initial capacity is negative or the buffer would exceed 2 GB
+     *          (<code>Integer.MAX_VALUE / 4</code> dates).
+     */
+    public static DateSequence offHeap(int initialCapacity) {
+        return new DateSequence(true, initialCapacity);
+    }
+
+    /**
+     * Returns a new DateSequence (backed by an int array) containing all dates of the given range.
+     * @param range the range.
+     * @return the new DateSequence.
+     */
+    public static DateSequence of(DateRange range) {
+        return new DateSequence(false, range.size()).appendAll(range);
+    }
+
+    private DateSequence(boolean offHeap, int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initial capacity must not be negative: " + initialCapacity);
+        }
+        if (initialCapacity > maxCapacity(offHeap)) {
+            throw new IllegalArgumentException("initial capacity too large: " + initialCapacity);
+        }
+        this.offHeap = offHeap;
+        this.epochDays = allocate(Math.max(initialCapacity, 1));
+    }
+
+    private IntBuffer allocate(int capacity) {
+        return offHeap
+                ? ByteBuffer.allocateDirect(capacity * 4).order(ByteOrder.nativeOrder()).asIntBuffer()
+                : IntBuffer.wrap(new int[capacity]);
+    }
+
+    private static int maxCapacity(boolean offHeap) {
+        return offHeap ? MAX_OFF_HEAP_CAPACITY : MAX_ON_HEAP_CAPACITY;
+    }
+
+    /**
+     * Returns the number of dates in this sequence.
+     * @return the number of dates.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indicates whether this sequence is backed by off-heap memory.
+     * @return <code>true</code> if this sequence is backed by a direct ByteBuffer.
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Appends the current value of the given DateBuilder.
+     * @param date the date.
+     * @return this DateSequence.
+     * @throws IllegalStateException if the sequence cannot hold any more dates.
+     */
+    public DateSequence append(DateBuilder date) {
+        return appendEpochDay(date.epochDay());
+    }
+
+    /**
+     * Appends the given date.
+     * @param date the date.
+     * @return this DateSequence.
+     * @throws IllegalStateException if the sequence cannot hold any more dates.
+     */
+    public DateSequence append(DateValue date) {
+        return appendEpochDay(date.epochDay());
+    }
+
+    /**
+     * Appends all dates of the given range.
+     * @param range the range.
+     * @return this DateSequence.
+     * @throws IllegalStateException if the sequence cannot hold that many dates.
+     */
+    public DateSequence appendAll(DateRange range) {
+        ensureCapacity((long) size + range.size());
+        for (int i = 0; i < range.size(); i++) {
+            epochDays.put(size++, range.epochDay(i));
+        }
+        return this;
+    }
+
+    DateSequence appendEpochDay(int epochDay) {
+        ensureCapacity(size + 1);
+        epochDays.put(size++, epochDay);
+        return this;
+    }
+
+    private void ensureCapacity(long capacity) {
+        if (capacity > epochDays.capacity()) {
+            IntBuffer grown = allocate(grownCapacity(epochDays.capacity(), capacity, maxCapacity(offHeap)));
+            IntBuffer values = epochDays.duplicate();
+            values.limit(size);
+            grown.put(values);
+            grown.clear();
+            epochDays = grown;
+        }
+    }
+
+    /**
+     * Returns the capacity to grow to: twice the current capacity, but at least the required and at most the maximum
+     * capacity.
+     * @throws IllegalStateException if the required capacity is greater than the maximum capacity.
+     */
+    static int grownCapacity(int capacity, long required, int maxCapacity) {
+        if (required > maxCapacity) {
+            throw new IllegalStateException("sequence cannot hold more than " + maxCapacity + " dates: " + required);
+        }
+        return (int) Math.min(maxCapacity, Math.max(required, 2L * capacity));
+    }
+
+    /**
+     * Returns the date at the given index.
+     * @param index the index.
+     * @return the date.
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size of the sequence.
+     */
+    public DateValue get(int index) {
+        return DateValue.ofEpochDay(epochDay(index));
+    }
+
+    int epochDay(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return epochDays.get(index);
+    }
+
+    /**
+     * Moves all dates of this sequence by the given amount of the given unit. Moving by months or years pins the
+     * day of month to the last day of the resulting month, just like {@link DateBuilder#monthsAhead(int)} does.
+     * @param amount the amount (may be negative).
+     * @param unit the unit.
+     * @return this DateSequence.
+     */
+    public DateSequence plus(int amount, DateUnit unit) {
+        if (unit == DateUnit.DAYS || unit == DateUnit.WEEKS) {
+            int days = unit == DateUnit.WEEKS ? amount * 7 : amount;
+            if (epochDays.hasArray()) {
+                int[] values = epochDays.array();
+                for (int i = 0; i < size; i++) {
+                    values[i] += days;
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    epochDays.put(i, epochDays.get(i) + days);
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                epochDays.put(i, unit.plus(epochDays.get(i), amount));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Moves all dates of this sequence as described by the given expression.
+     * @param expression the date expression.
+     * @return this DateSequence.
+     */
+    public DateSequence apply(DateExpression expression) {
+        for (int i = 0; i < size; i++) {
+            epochDays.put(i, expression.evaluate(epochDays.get(i)));
+        }
+        return this;
+    }
+
+    /**
+     * Sorts the dates of this sequence in ascending order.
+     * @return this DateSequence.
+     */
+    public DateSequence sort() {
+        if (epochDays.hasArray()) {
+            Arrays.sort(epochDays.array(), 0, size);
+        } else {
+            int[] values = toEpochDays();
+            Arrays.sort(values);
+            epochDays.duplicate().put(values, 0, size);
+        }
+        return this;
+    }
+
+    /**
+     * Returns a copy of the epoch-days (days since 1970-01-01) of this sequence.
+     * @return the epoch-days.
+     */
+    public int[] toEpochDays() {
+        int[] values = new int[size];
+        epochDays.duplicate().get(values, 0, size);
+        return values;
+    }
+
+    /**
+     * Returns a read-only view of this sequence that converts each date to a java.util.Date on access.
+     * @return the view.
+     */
+    public List<Date> asDates() {
+        return new AbstractList<Date>() {
+            @Override
+            public Date get(int index) {
+                return new Date(ZoneMidnights.forZone(TimeZone.getDefault()).toMillis(epochDay(index)));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns a read-only view of this sequence that converts each date to a java.sql.Date on access.
+     * @return the view.
+     */
+    public List<java.sql.Date> asSqlDates() {
+        return new AbstractList<java.sql.Date>() {
+            @Override
+            public java.sql.Date get(int index) {
+                return new java.sql.Date(ZoneMidnights.forZone(TimeZone.getDefault()).toMillis(epochDay(index)));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -0,0 +1,524 @@
+package de.javandry.testutils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable set of dates, composed of date intervals like validity periods.<br/>
+ * <br/>
+ * The dates are stored run-length encoded: as sorted arrays of the first and last epoch-day of disjoint, not
+ * adjacent intervals. Overlapping and adjacent intervals are merged when the set is built, so a set of tens of
+ * thousands of validity periods usually collapses into a few runs. {@link #contains(DateValue)} is a binary search
+ * over the runs, set operations are linear merges of the runs of both sets.<br/>
+ * <br/>
+ * Examples:<br/>
+ * <code>
+ *     DateSet valid = DateSet.builder().add(givenDate(1, 1, 2012), givenDate(31, 3, 2012))
+ *             .add(givenDate(1, 5, 2012), givenDate(31, 12, 2012)).build();
+ *     valid.contains(givenDate(14, 4, 2012)); // false
+ *     valid.gaps(); // one range from 01.04.2012 to 30.04.2012
+ *     valid.intersection(DateSet.between(today(), today().daysAhead(30)));
+ * </code>
+ */
+public final class DateSet {
+
+    private static final DateSet EMPTY = new DateSet(new int[0], new int[0]);
+
+    /**
+     * First epoch-day of each run, sorted ascending.
+     */
+    private final int[] starts;
+
+    /**
+     * Last epoch-day of each run; <code>ends[i] + 1 &lt; starts[i + 1]</code>.
+     */
+    private final int[] ends;
+
+    /**
+     * Returns the empty set.
+     * @return the DateSet.
+     */
+    public static DateSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the set of all dates from the given first date up to (and including) the given last date.
+     * The set is empty if the last date is before the first date.
+     * @param first the first date.
+     * @param last the last date.
+     * @return the DateSet.
+     */
+    public static DateSet between(DateValue first, DateValue last) {
+        return builder().add(first, last).build();
+    }
+
+    /**
+     * Returns the set of all dates from the given first date up to (and including) the given last date.
+     * The set is empty if the last date is before the first date.
+     * @param first the first date.
+     * @param last the last date.
+     * @return the DateSet.
+     */
+    public static DateSet between(DateBuilder first, DateBuilder last) {
+        return builder().add(first, last).build();
+    }
+
+    /**
+     * Returns the set of all dates of the given range.
+     * @param range the range.
+     * @return the DateSet.
+     */
+    public static DateSet of(DateRange range) {
+        Builder builder = builder();
+        for (int i = 0; i < range.size(); i++) {
+            int epochDay = range.epochDay(i);
+            builder.addEpochDays(epochDay, epochDay);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a new builder collecting intervals into a set.
+     * @return the Builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private DateSet(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Indicates whether this set contains no dates.
+     * @return <code>true</code> if this set is empty.
+     */
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    /**
+     * Returns the number of dates in this set.
+     * @return the number of dates.
+     */
+    public long size() {
+        long size = 0;
+        for (int i = 0; i < starts.length; i++) {
+            size += (long) ends[i] - starts[i] + 1;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the first date of this set.
+     * @return the first date.
+     * @throws NoSuchElementException if this set is empty.
+     */
+    public DateValue first() {
+        checkNotEmpty();
+        return DateValue.ofEpochDay(starts[0]);
+    }
+
+    /**
+     * Returns the last date of this set.
+     * @return the last date.
+     * @throws NoSuchElementException if this set is empty.
+     */
+    public DateValue last() {
+        checkNotEmpty();
+        return DateValue.ofEpochDay(ends[ends.length - 1]);
+    }
+
+    private void checkNotEmpty() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("empty date set");
+        }
+    }
+
+    /**
+     * Indicates whether this set contains the given date.
+     * @param date the date.
+     * @return <code>true</code> if the date is contained.
+     */
+    public boolean contains(DateValue date) {
+        return contains(date.epochDay());
+    }
+
+    /**
+     * Indicates whether this set contains the current value of the given DateBuilder.
+     * @param date the date.
+     * @return <code>true</code> if the date is contained.
+     */
+    public boolean contains(DateBuilder date) {
+        return contains(date.epochDay());
+    }
+
+    boolean contains(int epochDay) {
+        int run = runAtOrBefore(epochDay);
+        return run >= 0 && epochDay <= ends[run];
+    }
+
+    /**
+     * Indicates whether this set contains all dates from the given first date up to (and including) the given last
+     * date. An empty interval (last date before first date) is always contained.
+     * @param first the first date.
+     * @param last the last date.
+     * @return <code>true</code> if the interval is contained.
+     */
+    public boolean containsAll(DateValue first, DateValue last) {
+        return containsAll(first.epochDay(), last.epochDay());
+    }
+
+    /**
+     * Indicates whether this set contains all dates of the given set.
+     * @param other the other set.
+     * @return <code>true</code> if the other set is contained.
+     */
+    public boolean containsAll(DateSet other) {
+        for (int i = 0; i < other.starts.length; i++) {
+            if (!containsAll(other.starts[i], other.ends[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean containsAll(int first, int last) {
+        if (last < first) {
+            return true;
+        }
+        int run = runAtOrBefore(first);
+        return run >= 0 && last <= ends[run];
+    }
+
+    /**
+     * Indicates whether this set contains at least one date from the given first date up to (and including) the
+     * given last date.
+     * @param first the first date.
+     * @param last the last date.
+     * @return <code>true</code> if the interval overlaps this set.
+     */
+    public boolean overlaps(DateValue first, DateValue last) {
+        int firstDay = first.epochDay();
+        int lastDay = last.epochDay();
+        if (lastDay < firstDay) {
+            return false;
+        }
+        int run = runAtOrBefore(lastDay);
+        return run >= 0 && ends[run] >= firstDay;
+    }
+
+    /**
+     * Indicates whether this set and the given set have at least one date in common.
+     * @param other the other set.
+     * @return <code>true</code> if the sets overlap.
+     */
+    public boolean overlaps(DateSet other) {
+        int i = 0;
+        int j = 0;
+        while (i < starts.length && j < other.starts.length) {
+            if (ends[i] < other.starts[j]) {
+                i++;
+            } else if (other.ends[j] < starts[i]) {
+                j++;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the index of the last run starting at or before the given epoch-day, or -1.
+     */
+    private int runAtOrBefore(int epochDay) {
+        int index = Arrays.binarySearch(starts, epochDay);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Returns the set of all dates contained in this set or the given set.
+     * @param other the other set.
+     * @return the DateSet.
+     */
+    public DateSet union(DateSet other) {
+        Builder builder = new Builder(starts.length + other.starts.length);
+        int i = 0;
+        int j = 0;
+        while (i < starts.length || j < other.starts.length) {
+            if (j == other.starts.length || i < starts.length && starts[i] <= other.starts[j]) {
+                builder.appendSorted(starts[i], ends[i]);
+                i++;
+            } else {
+                builder.appendSorted(other.starts[j], other.ends[j]);
+                j++;
+            }
+        }
+        return builder.toSet();
+    }
+
+    /**
+     * Returns the set of all dates contained in both this set and the given set.
+     * @param other the other set.
+     * @return the DateSet.
+     */
+    public DateSet intersection(DateSet other) {
+        Builder builder = new Builder(Math.max(starts.length, other.starts.length));
+        int i = 0;
+        int j = 0;
+        while (i < starts.length && j < other.starts.length) {
+            int start = Math.max(starts[i], other.starts[j]);
+            int end = Math.min(ends[i], other.ends[j]);
+            if (start <= end) {
+                builder.appendSorted(start, end);
+            }
+            if (ends[i] < other.ends[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return builder.toSet();
+    }
+
+    /**
+     * Returns the set of all dates contained in this set but not in the given set.
+     * @param other the other set.
+     * @return the DateSet.
+     */
+    public DateSet difference(DateSet other) {
+        Builder builder = new Builder(starts.length + other.starts.length);
+        int j = 0;
+        for (int i = 0; i < starts.length; i++) {
+            long start = starts[i];
+            while (j < other.starts.length && other.ends[j] < start) {
+                j++;
+            }
+            int k = j;
+            while (k < other.starts.length && other.starts[k] <= ends[i]) {
+                if (other.starts[k] > start) {
+                    builder.appendSorted((int) start, other.starts[k] - 1);
+                }
+                start = (long) other.ends[k] + 1;
+                k++;
+            }
+            if (start <= ends[i]) {
+                builder.appendSorted((int) start, ends[i]);
+            }
+        }
+        return builder.toSet();
+    }
+
+    /**
+     * Returns the set of all dates between the first and the last date of this set, that are not contained in this
+     * set.
+     * @return the DateSet.
+     */
+    public DateSet gapSet() {
+        Builder builder = new Builder(Math.max(starts.length - 1, 0));
+        for (int i = 1; i < starts.length; i++) {
+            builder.appendSorted(ends[i - 1] + 1, starts[i] - 1);
+        }
+        return builder.toSet();
+    }
+
+    /**
+     * Returns the maximal intervals of this set, in ascending order.
+     * @return the daily DateRanges.
+     */
+    public List<DateRange> intervals() {
+        return ranges(this);
+    }
+
+    /**
+     * Returns the maximal intervals between the first and the last date of this set, that are not contained in
+     * this set, in ascending order.
+     * @return the daily DateRanges.
+     */
+    public List<DateRange> gaps() {
+        return ranges(gapSet());
+    }
+
+    private static List<DateRange> ranges(DateSet set) {
+        List<DateRange> ranges = new ArrayList<DateRange>(set.starts.length);
+        for (int i = 0; i < set.starts.length; i++) {
+            ranges.add(DateRange.between(DateValue.ofEpochDay(set.starts[i]), DateValue.ofEpochDay(set.ends[i])));
+        }
+        return Collections.unmodifiableList(ranges);
+    }
+
+    /**
+     * @see Object#equals(Object)
+     */
+    @Override
+    public boolean equals(Object otherObject) {
+        if (this == otherObject) return true;
+        if (otherObject == null || getClass() != otherObject.getClass()) return false;
+
+        DateSet that = (DateSet) otherObject;
+
+        return Arrays.equals(starts, that.starts) && Arrays.equals(ends, that.ends);
+    }
+
+    /**
+     * @see Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(starts) + Arrays.hashCode(ends);
+    }
+
+    /**
+     * Returns the intervals of this set formatted with the systems default DateFormat, e.g.
+     * <code>[01.01.2012..31.03.2012, 01.05.2012]</code>.
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < starts.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            DateText.formatTo(starts[i], builder);
+            if (ends[i] != starts[i]) {
+                builder.append("..");
+                DateText.formatTo(ends[i], builder);
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Collects intervals in any order and merges them into a DateSet. A builder must not be used after
+     * {@link #build()}.
+     */
+    public static final class Builder {
+
+        private int[] starts;
+        private int[] ends;
+        private int count;
+        private boolean sorted = true;
+
+        private Builder() {
+            this(16);
+        }
+
+        private Builder(int capacity) {
+            starts = new int[Math.max(capacity, 1)];
+            ends = new int[starts.length];
+        }
+
+        /**
+         * Adds all dates from the given first date up to (and including) the given last date. Nothing is added if
+         * the last date is before the first date.
+         * @param first the first date.
+         * @param last the last date.
+         * @return this Builder.
+         */
+        public Builder add(DateValue first, DateValue last) {
+            return addEpochDays(first.epochDay(), last.epochDay());
+        }
+
+        /**
+         * Adds all dates from the current value of the given first DateBuilder up to (and including) the current
+         * value of the given last DateBuilder. Nothing is added if the last date is before the first date.
+         * @param first the first date.
+         * @param last the last date.
+         * @return this Builder.
+         */
+        public Builder add(DateBuilder first, DateBuilder last) {
+            return addEpochDays(first.epochDay(), last.epochDay());
+        }
+
+        /**
+         * Adds the given date.
+         * @param date the date.
+         * @return this Builder.
+         */
+        public Builder add(DateValue date) {
+            return addEpochDays(date.epochDay(), date.epochDay());
+        }
+
+        /**
+         * Adds all dates of the given set.
+         * @param set the set.
+         * @return this Builder.
+         */
+        public Builder addAll(DateSet set) {
+            for (int i = 0; i < set.starts.length; i++) {
+                addEpochDays(set.starts[i], set.ends[i]);
+            }
+            return this;
+        }
+
+        Builder addEpochDays(int first, int last) {
+            if (last < first) {
+                return this;
+            }
+            if (count > 0 && first < starts[count - 1]) {
+                sorted = false;
+            }
+            if (sorted) {
+                appendSorted(first, last);
+            } else {
+                append(first, last);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the set of all added dates.
+         * @return the DateSet.
+         */
+        public DateSet build() {
+            if (!sorted) {
+                sortAndMerge();
+            }
+            return toSet();
+        }
+
+        /**
+         * Appends an interval not starting before the last appended one, merging it if it overlaps or is adjacent.
+         */
+        private void appendSorted(int first, int last) {
+            if (count > 0 && first <= (long) ends[count - 1] + 1) {
+                ends[count - 1] = Math.max(ends[count - 1], last);
+            } else {
+                append(first, last);
+            }
+        }
+
+        private void append(int first, int last) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = first;
+            ends[count] = last;
+            count++;
+        }
+
+        private void sortAndMerge() {
+            long[] intervals = new long[count];
+            for (int i = 0; i < count; i++) {
+                intervals[i] = (long) starts[i] << 32 | (ends[i] & 0xFFFFFFFFL);
+            }
+            Arrays.sort(intervals);
+            count = 0;
+            sorted = true;
+            for (long interval : intervals) {
+                appendSorted((int) (interval >> 32), (int) interval);
+            }
+        }
+
+        private DateSet toSet() {
+            return count == 0 ? EMPTY : new DateSet(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+        }
+    }
+}
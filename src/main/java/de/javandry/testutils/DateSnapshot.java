@@ -0,0 +1,282 @@
+package de.javandry.testutils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary file of dates, used to persist generated fixture sets and to reload them in milliseconds.<br/>
+ * <br/>
+ * The dates are stored as epoch-days in blocks of {@value #BLOCK_SIZE}. The first date of each block is kept in a
+ * block index, every following date as the zigzag/varint encoded difference to its predecessor, so a sorted set of
+ * dates takes about one byte per date. The order of the dates is preserved; unsorted dates just need more bytes.
+ * A header holds the number of dates and a CRC32 checksum of the index and data, which is verified on
+ * {@link #open(File)}.<br/>
+ * <br/>
+ * A snapshot is read from a memory-mapped file: iterating decodes one date at a time straight from the mapping, and
+ * {@link #get(int)} only decodes within a single block. Instances are immutable and thread-safe.<br/>
+ * <br/>
+ * Example:<br/>
+ * <code>
+ *     DateSnapshot.write(file, DateSequence.of(DateRange.between(first, last)));
+ *     for (DateValue date : DateSnapshot.open(file)) { ... }
+ * </code>
+ */
+public final class DateSnapshot implements Iterable<DateValue> {
+
+    static final int BLOCK_SIZE = 1024;
+
+    private static final int MAGIC = 0x44534E50; // "DSNP"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final int INDEX_ENTRY_SIZE = 8;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int blockCount;
+    private final int dataStart;
+
+    /**
+     * Writes the dates of the given sequence to the given file.
+     * @param file the file.
+     * @param dates the dates.
+     * @throws RuntimeException if the file could not be written.
+     */
+    public static void write(File file, DateSequence dates) {
+        write(file, dates.toEpochDays());
+    }
+
+    /**
+     * Writes the given epoch-days (days since 1970-01-01) to the given file.
+     * @param file the file.
+     * @param epochDays the epoch-days.
+     * @throws RuntimeException if the file could not be written.
+     */
+    public static void write(File file, int[] epochDays) {
+        try {
+            OutputStream out = new FileOutputStream(file);
+            try {
+                out.write(encode(epochDays));
+            } finally {
+                out.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static byte[] encode(int[] epochDays) {
+        int blockCount = (epochDays.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int dataStart = HEADER_SIZE + blockCount * INDEX_ENTRY_SIZE;
+        byte[] bytes = new byte[dataStart + epochDays.length + 16];
+        ByteBuffer index = ByteBuffer.wrap(bytes);
+        int position = dataStart;
+        for (int i = 0; i < epochDays.length; i++) {
+            if (i % BLOCK_SIZE == 0) {
+                index.putInt(HEADER_SIZE + i / BLOCK_SIZE * INDEX_ENTRY_SIZE, epochDays[i]);
+                index.putInt(HEADER_SIZE + i / BLOCK_SIZE * INDEX_ENTRY_SIZE + 4, position - dataStart);
+                continue;
+            }
+            long delta = (long) epochDays[i] - epochDays[i - 1];
+            long zigzag = (delta << 1) ^ (delta >> 63);
+            if (position + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                index = ByteBuffer.wrap(bytes);
+            }
+            while ((zigzag & ~0x7FL) != 0) {
+                bytes[position++] = (byte) (zigzag & 0x7F | 0x80);
+                zigzag >>>= 7;
+            }
+            bytes[position++] = (byte) zigzag;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_SIZE, position - HEADER_SIZE);
+        index.putInt(0, MAGIC);
+        index.put(4, VERSION);
+        index.putInt(8, epochDays.length);
+        index.putInt(12, blockCount);
+        index.putInt(16, (int) crc.getValue());
+        return Arrays.copyOf(bytes, position);
+    }
+
+    /**
+     * Opens the snapshot in the given file and verifies its checksum.
+     * @param file the file.
+     * @return the DateSnapshot.
+     * @throws RuntimeException if the file could not be read.
+     * @throws IllegalArgumentException if the file is no valid snapshot.
+     */
+    public static DateSnapshot open(File file) {
+        try {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = randomAccessFile.getChannel();
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return new DateSnapshot(buffer, file.toString());
+            } finally {
+                randomAccessFile.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    DateSnapshot(ByteBuffer buffer, String name) {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException(name + ": no date snapshot");
+        }
+        if (buffer.get(4) != VERSION) {
+            throw new IllegalArgumentException(name + ": unsupported date snapshot version " + buffer.get(4));
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        this.blockCount = buffer.getInt(12);
+        this.dataStart = HEADER_SIZE + blockCount * INDEX_ENTRY_SIZE;
+        if (size < 0 || blockCount != (size + BLOCK_SIZE - 1) / BLOCK_SIZE || dataStart > buffer.limit()) {
+            throw new IllegalArgumentException(name + ": corrupt date snapshot header");
+        }
+        CRC32 crc = new CRC32();
+        ByteBuffer content = buffer.duplicate();
+        content.position(HEADER_SIZE);
+        crc.update(content);
+        if ((int) crc.getValue() != buffer.getInt(16)) {
+            throw new IllegalArgumentException(name + ": date snapshot checksum mismatch");
+        }
+    }
+
+    /**
+     * Returns the number of dates in this snapshot.
+     * @return the number of dates.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the date at the given index.
+     * @param index the index.
+     * @return the date.
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size of the snapshot.
+     */
+    public DateValue get(int index) {
+        return DateValue.ofEpochDay(epochDay(index));
+    }
+
+    int epochDay(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        Decoder decoder = new Decoder(index / BLOCK_SIZE);
+        for (int i = index % BLOCK_SIZE; i > 0; i--) {
+            decoder.next();
+        }
+        return decoder.epochDay;
+    }
+
+    /**
+     * Returns an iterator over the epoch-days (days since 1970-01-01) of this snapshot, decoding them one by one.
+     * @return the iterator.
+     */
+    public PrimitiveIterator.OfInt epochDays() {
+        return new PrimitiveIterator.OfInt() {
+            private int index;
+            private Decoder decoder;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if (index++ % BLOCK_SIZE == 0) {
+                    decoder = new Decoder((index - 1) / BLOCK_SIZE);
+                } else {
+                    decoder.next();
+                }
+                return decoder.epochDay;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<DateValue> iterator() {
+        final PrimitiveIterator.OfInt epochDays = epochDays();
+        return new Iterator<DateValue>() {
+            @Override
+            public boolean hasNext() {
+                return epochDays.hasNext();
+            }
+
+            @Override
+            public DateValue next() {
+                return DateValue.ofEpochDay(epochDays.nextInt());
+            }
+        };
+    }
+
+    /**
+     * Returns all epoch-days of this snapshot.
+     * @return the epoch-days.
+     */
+    public int[] toEpochDays() {
+        int[] epochDays = new int[size];
+        PrimitiveIterator.OfInt iterator = epochDays();
+        for (int i = 0; i < size; i++) {
+            epochDays[i] = iterator.nextInt();
+        }
+        return epochDays;
+    }
+
+    /**
+     * Returns a new DateSequence (backed by an int array) containing all dates of this snapshot.
+     * @return the DateSequence.
+     */
+    public DateSequence toSequence() {
+        DateSequence sequence = DateSequence.onHeap();
+        PrimitiveIterator.OfInt iterator = epochDays();
+        while (iterator.hasNext()) {
+            sequence.appendEpochDay(iterator.nextInt());
+        }
+        return sequence;
+    }
+
+    /**
+     * Sequential decoder of a single block.
+     */
+    private final class Decoder {
+
+        int epochDay;
+        private int position;
+
+        Decoder(int block) {
+            epochDay = buffer.getInt(HEADER_SIZE + block * INDEX_ENTRY_SIZE);
+            position = dataStart + buffer.getInt(HEADER_SIZE + block * INDEX_ENTRY_SIZE + 4);
+        }
+
+        void next() {
+            long zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            epochDay = (int) (epochDay + ((zigzag >>> 1) ^ -(zigzag & 1)));
+        }
+    }
+}
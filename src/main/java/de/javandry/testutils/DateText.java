@@ -0,0 +1,120 @@
+package de.javandry.testutils;
+
+import de.javandry.testutils.DateBuilderMetrics.Counter;
+
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Parsing and formatting of epoch-days.<br/>
+ * <br/>
+ * Kept apart from DateBuilder and DateValue, so that the java.text and locale data classes are only loaded on the
+ * first parse or format call and not by tests doing plain date arithmetic.
+ */
+final class DateText {
+
+    private DateText() {
+    }
+
+    /**
+     * Parses the given part of the text using the fixed width fast path for the given pattern if possible and
+     * SimpleDateFormat otherwise.
+     * @return the epoch-day or {@link FixedDatePattern#NO_MATCH} if the text could not be parsed.
+     * @throws RuntimeException if the text could not be parsed and <code>failOnError</code> is set.
+     */
+    static long parseEpochDay(CharSequence text, int start, int end, String format, boolean failOnError) {
+        FixedDatePattern fixedPattern = FixedDatePattern.forPattern(format);
+        if (fixedPattern != null && DateFormats.isGregorian(Locale.getDefault())) {
+            long epochDay = fixedPattern.parse(text, start, end);
+            if (epochDay != FixedDatePattern.NO_MATCH) {
+                DateBuilderMetrics.count(Counter.PARSE_FAST_PATH);
+                return epochDay;
+            }
+        }
+        String dateString = text.subSequence(start, end).toString();
+        return parseEpochDay(dateString, DateFormats.forPattern(format, TimeZone.getDefault()), failOnError);
+    }
+
+    /**
+     * Parses the given date string using the fixed width fast path for the default date style pattern of the given
+     * locale if possible and the DateFormat of the locale otherwise.
+     * @return the epoch-day or {@link FixedDatePattern#NO_MATCH} if the date string could not be parsed.
+     * @throws RuntimeException if the date string could not be parsed and <code>failOnError</code> is set.
+     */
+    static long parseEpochDay(String dateString, Locale locale, boolean failOnError) {
+        FixedDatePattern fixedPattern = FixedDatePattern.forLocale(locale);
+        if (fixedPattern != null) {
+            long epochDay = fixedPattern.parse(dateString, 0, dateString.length());
+            if (epochDay != FixedDatePattern.NO_MATCH) {
+                DateBuilderMetrics.count(Counter.PARSE_FAST_PATH);
+                return epochDay;
+            }
+        }
+        return parseEpochDay(dateString, DateFormats.forLocale(locale, TimeZone.getDefault()), failOnError);
+    }
+
+    /**
+     * Parses the given date string using the given DateFormat.
+     * @return the epoch-day or {@link FixedDatePattern#NO_MATCH} if the date string could not be parsed.
+     * @throws RuntimeException if the date string could not be parsed and <code>failOnError</code> is set.
+     */
+    private static long parseEpochDay(String dateString, DateFormat dateFormat, boolean failOnError) {
+        ParsePosition position = new ParsePosition(0);
+        Date date = dateFormat.parse(dateString, position);
+        if (date == null) {
+            DateBuilderMetrics.count(Counter.PARSE_FAILURE);
+            if (failOnError) {
+                ParseException e = new ParseException("Unparseable date: \"" + dateString + "\"", position.getErrorIndex());
+                throw new RuntimeException(e);
+            }
+            return FixedDatePattern.NO_MATCH;
+        }
+        return EpochDays.ofMillis(date.getTime(), dateFormat.getTimeZone());
+    }
+
+    /**
+     * Formats the given epoch-day using the systems default DateFormat instance.
+     */
+    static String format(int epochDay) {
+        return formatTo(epochDay, new StringBuilder(16)).toString();
+    }
+
+    /**
+     * Appends the given epoch-day to the given StringBuilder using the systems default DateFormat instance.
+     */
+    static StringBuilder formatTo(int epochDay, StringBuilder target) {
+        Locale locale = Locale.getDefault();
+        try {
+            FixedDatePattern fixedPattern = FixedDatePattern.forLocale(locale);
+            if (fixedPattern == null || !fixedPattern.format(epochDay, target)) {
+                DateFormat dateFormat = DateFormats.forLocale(locale, TimeZone.getDefault());
+                target.append(dateFormat.format(new Date(EpochDays.toMillis(epochDay, TimeZone.getDefault()))));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return target;
+    }
+
+    /**
+     * Appends the given epoch-day to the given Appendable using the given format pattern.
+     */
+    static <A extends Appendable> A formatTo(int epochDay, A target, String format) {
+        try {
+            FixedDatePattern fixedPattern = FixedDatePattern.forPattern(format);
+            if (fixedPattern == null || !DateFormats.isGregorian(Locale.getDefault())
+                    || !fixedPattern.format(epochDay, target)) {
+                DateFormat dateFormat = DateFormats.forPattern(format, TimeZone.getDefault());
+                target.append(dateFormat.format(new Date(EpochDays.toMillis(epochDay, TimeZone.getDefault()))));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,29 @@
+package de.javandry.testutils;
+
+/**
+ * Units of date arithmetic. Adding months or years pins the day of month to the last day of the resulting month if
+ * it would exceed it, just like {@link DateBuilder#monthsAhead(int)} does.
+ */
+public enum DateUnit {
+
+    DAYS, WEEKS, MONTHS, YEARS;
+
+    /**
+     * Returns the given epoch-day moved by the given amount of this unit.
+     * @param epochDay the epoch-day.
+     * @param amount the amount of this unit.
+     * @return the resulting epoch-day.
+     */
+    int plus(int epochDay, long amount) {
+        switch (this) {
+            case DAYS:
+                return (int) (epochDay + amount);
+            case WEEKS:
+                return (int) (epochDay + amount * 7);
+            case MONTHS:
+                return EpochDays.plusMonths(epochDay, (int) amount);
+            default:
+                return EpochDays.plusMonths(epochDay, (int) (amount * 12));
+        }
+    }
+}
@@ -0,0 +1,629 @@
+package de.javandry.testutils;
+
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable counterpart of {@link DateBuilder}.<br/>
+ * <br/>
+ * Every operation returns a new DateValue instead of modifying the current one, so instances can safely be shared
+ * as constants between tests and threads. Values between 1900-01-01 and 2099-12-31 are interned, so equal values
+ * in this range are the same instance and may be compared by identity.<br/>
+ * <br/>
+ * Examples:<br/>
+ * <code>
+ *     static final DateValue REFERENCE_DATE = DateValue.givenDate(14, 12, 1972);
+ *     REFERENCE_DATE.monthsAhead(4); // 14-04-1973, REFERENCE_DATE is unchanged
+ *     DateBuilder.today().day(1).toValue(); // first day of the current month
+ * </code>
+ * <br/>
+ * Unlike the DateBuilder, {@link #day(int)}, {@link #month(int)} and {@link #year(int)} normalize their result
+ * immediately (e.g. <code>givenDate(31, 1, 2012).month(2)</code> is Mar 2nd 2012). Use
+ * {@link #givenDate(int, int, int)} to define a date from all three values at once.
+ */
+public final class DateValue implements Comparable<DateValue> {
+
+    private static final int CACHE_FIRST_DAY = EpochDays.of(1900, 1, 1);
+    private static final int CACHE_SIZE = EpochDays.of(2100, 1, 1) - CACHE_FIRST_DAY;
+    private static final int CACHE_BLOCK_SHIFT = 10;
+    private static final int CACHE_BLOCK_SIZE = 1 << CACHE_BLOCK_SHIFT;
+    private static final int CACHE_BLOCK_COUNT = (CACHE_SIZE + CACHE_BLOCK_SIZE - 1) >> CACHE_BLOCK_SHIFT;
+
+    private static final AtomicReferenceArray<AtomicReferenceArray<DateValue>> CACHE =
+            new AtomicReferenceArray<AtomicReferenceArray<DateValue>>(CACHE_BLOCK_COUNT);
+
+    private final int epochDay;
+
+    /**
+     * Returns the DateValue of the current system date, taken from the default {@link DateClock}.
+     * @return the DateValue.
+     */
+    public static DateValue today() {
+        return DateClock.getDefault().today();
+    }
+
+    /**
+     * Returns the DateValue of the given day, month and year.
+     * The values are interpreted leniently, e.g. <code>givenDate(32, 12, 1972)</code> is Jan 1st 1973.
+     * @param day the day.
+     * @param month the month.
+     * @param year the year.
+     * @return the DateValue.
+     */
+    public static DateValue givenDate(int day, int month, int year) {
+        return ofEpochDay(EpochDays.of(year, month, day));
+    }
+
+    /**
+     * Returns the DateValue of the given Date.
+     * @param date the Date.
+     * @return the DateValue.
+     */
+    public static DateValue valueOf(Date date) {
+        return ofEpochDay(EpochDays.ofMillis(date.getTime(), TimeZone.getDefault()));
+    }
+
+    /**
+     * Returns the DateValue of the given epoch-day, using the interned instance if there is one.
+     * @param epochDay the number of days since 1970-01-01.
+     * @return the DateValue.
+     */
+    static DateValue ofEpochDay(int epochDay) {
+        int index = epochDay - CACHE_FIRST_DAY;
+        if (index < 0 || index >= CACHE_SIZE) {
+            return new DateValue(epochDay);
+        }
+        AtomicReferenceArray<DateValue> block = cacheBlock(index >> CACHE_BLOCK_SHIFT);
+        int slot = index & (CACHE_BLOCK_SIZE - 1);
+        DateValue value = block.get(slot);
+        if (value == null) {
+            value = new DateValue(epochDay);
+            if (!block.compareAndSet(slot, null, value)) {
+                value = block.get(slot);
+            }
+        }
+        return value;
+    }
+
+    private static AtomicReferenceArray<DateValue> cacheBlock(int blockIndex) {
+        AtomicReferenceArray<DateValue> block = CACHE.get(blockIndex);
+        if (block == null) {
+            block = new AtomicReferenceArray<DateValue>(CACHE_BLOCK_SIZE);
+            if (!CACHE.compareAndSet(blockIndex, null, block)) {
+                block = CACHE.get(blockIndex);
+            }
+        }
+        return block;
+    }
+
+    private DateValue(int epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    /**
+     * Returns the day part (day of month) of this DateValue.
+     * @return the day.
+     */
+    public int getDay() {
+        return EpochDays.day(EpochDays.toPacked(epochDay));
+    }
+
+    /**
+     * Returns the month part (month of year) of this DateValue.
+     * @return the month.
+     */
+    public int getMonth() {
+        return EpochDays.month(EpochDays.toPacked(epochDay));
+    }
+
+    /**
+     * Returns the year part of this DateValue.
+     * @return the year.
+     */
+    public int getYear() {
+        return EpochDays.year(EpochDays.toPacked(epochDay));
+    }
+
+    /**
+     * Returns a DateValue the given number of days before this one.
+     * @param days the number of days.
+     * @return the resulting DateValue.
+     */
+    public DateValue daysAgo(int days) {
+        return daysAhead(-days);
+    }
+
+    /**
+     * Returns the DateValue of the day before this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue previousDay() {
+        return daysAgo(1);
+    }
+
+    /**
+     * Returns a DateValue the given number of days after this one.
+     * @param days the number of days.
+     * @return the resulting DateValue.
+     */
+    public DateValue daysAhead(int days) {
+        return days == 0 ? this : ofEpochDay(epochDay + days);
+    }
+
+    /**
+     * Returns the DateValue of the day after this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue nextDay() {
+        return daysAhead(1);
+    }
+
+    /**
+     * Returns a DateValue with the day of month set to the given day.
+     * @param day the day.
+     * @return the resulting DateValue.
+     */
+    public DateValue day(int day) {
+        int packed = EpochDays.toPacked(epochDay);
+        return ofEpochDay(EpochDays.of(EpochDays.year(packed), EpochDays.month(packed), day));
+    }
+
+    /**
+     * Returns the DateValue of the first day of the month.
+     * @return the resulting DateValue.
+     */
+    public DateValue firstDay() {
+        return day(1);
+    }
+
+    /**
+     * Returns the DateValue of the last day of the month.
+     * @return the resulting DateValue.
+     */
+    public DateValue lastDay() {
+        int packed = EpochDays.toPacked(epochDay);
+        return day(EpochDays.lengthOfMonth(EpochDays.year(packed), EpochDays.month(packed)));
+    }
+
+    /**
+     * Returns the ISO week (1 to 53) of this DateValue. ISO weeks start on monday, week 1 is the week containing the
+     * first thursday of the year.
+     * @return the ISO week.
+     */
+    public int getIsoWeek() {
+        return PeriodTables.isoWeek(epochDay);
+    }
+
+    /**
+     * Returns the ISO week-based year of this DateValue, which differs from the calendar year for a few days around
+     * new year (e.g. Dec 31st 2012 is in week 1 of 2013).
+     * @return the week-based year.
+     */
+    public int getIsoWeekYear() {
+        return PeriodTables.isoWeekYear(epochDay);
+    }
+
+    /**
+     * Returns a DateValue the given number of weeks before this one.
+     * @param weeks the number of weeks.
+     * @return the resulting DateValue.
+     */
+    public DateValue weeksAgo(int weeks) {
+        return weeksAhead(-weeks);
+    }
+
+    /**
+     * Returns a DateValue one week before this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue previousWeek() {
+        return weeksAgo(1);
+    }
+
+    /**
+     * Returns a DateValue the given number of weeks after this one.
+     * @param weeks the number of weeks.
+     * @return the resulting DateValue.
+     */
+    public DateValue weeksAhead(int weeks) {
+        return daysAhead(weeks * 7);
+    }
+
+    /**
+     * Returns a DateValue one week after this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue nextWeek() {
+        return weeksAhead(1);
+    }
+
+    /**
+     * Returns a DateValue on the same day of week in the given ISO week of the week-based year of this one.
+     * Weeks beyond the last week of the year continue into the following year.
+     * @param week the ISO week.
+     * @return the resulting DateValue.
+     */
+    public DateValue isoWeek(int week) {
+        int weekYear = PeriodTables.isoWeekYear(epochDay);
+        return ofEpochDay(PeriodTables.ofIsoWeek(weekYear, week, EpochDays.dayOfWeek(epochDay)));
+    }
+
+    /**
+     * Returns the DateValue of the first day (monday) of the ISO week of this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue firstDayOfWeek() {
+        return ofEpochDay(epochDay - EpochDays.dayOfWeek(epochDay) + 1);
+    }
+
+    /**
+     * Returns the DateValue of the last day (sunday) of the ISO week of this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue lastDayOfWeek() {
+        return ofEpochDay(epochDay - EpochDays.dayOfWeek(epochDay) + 7);
+    }
+
+    /**
+     * Returns a DateValue the given number of months before this one.
+     * @param months the number of months.
+     * @return the resulting DateValue.
+     */
+    public DateValue monthsAgo(int months) {
+        return monthsAhead(-months);
+    }
+
+    /**
+     * Returns a DateValue one month before this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue previousMonth() {
+        return monthsAgo(1);
+    }
+
+    /**
+     * Returns a DateValue the given number of months after this one.
+     * @param months the number of months.
+     * @return the resulting DateValue.
+     */
+    public DateValue monthsAhead(int months) {
+        return months == 0 ? this : ofEpochDay(EpochDays.plusMonths(epochDay, months));
+    }
+
+    /**
+     * Returns a DateValue one month after this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue nextMonth() {
+        return monthsAhead(1);
+    }
+
+    /**
+     * Returns a DateValue with the month of year set to the given month.
+     * @param month the month.
+     * @return the resulting DateValue.
+     */
+    public DateValue month(int month) {
+        int packed = EpochDays.toPacked(epochDay);
+        return ofEpochDay(EpochDays.of(EpochDays.year(packed), month, EpochDays.day(packed)));
+    }
+
+    /**
+     * Returns a DateValue set to the first month of the year.
+     * @return the resulting DateValue.
+     */
+    public DateValue firstMonth() {
+        return month(1);
+    }
+
+    /**
+     * Returns a DateValue set to the last month of the year.
+     * @return the resulting DateValue.
+     */
+    public DateValue lastMonth() {
+        return month(12);
+    }
+
+    /**
+     * Returns a DateValue the given number of years before this one.
+     * @param years the number of years.
+     * @return the resulting DateValue.
+     */
+    public DateValue yearsAgo(int years) {
+        return yearsAhead(-years);
+    }
+
+    /**
+     * Returns a DateValue one year before this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue previousYear() {
+        return yearsAgo(1);
+    }
+
+    /**
+     * Returns a DateValue the given number of years after this one.
+     * @param years the number of years.
+     * @return the resulting DateValue.
+     */
+    public DateValue yearsAhead(int years) {
+        return monthsAhead(years * 12);
+    }
+
+    /**
+     * Returns a DateValue one year after this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue nextYear() {
+        return yearsAhead(1);
+    }
+
+    /**
+     * Returns a DateValue with the year set to the given year.
+     * @param year the year.
+     * @return the resulting DateValue.
+     */
+    public DateValue year(int year) {
+        int packed = EpochDays.toPacked(epochDay);
+        return ofEpochDay(EpochDays.of(year, EpochDays.month(packed), EpochDays.day(packed)));
+    }
+
+    /**
+     * Returns the quarter (1 to 4) of this DateValue.
+     * @return the quarter.
+     */
+    public int getQuarter() {
+        return PeriodTables.quarter(epochDay);
+    }
+
+    /**
+     * Returns the DateValue of the first day of the quarter of this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue firstDayOfQuarter() {
+        return ofEpochDay(PeriodTables.firstDayOfQuarter(epochDay));
+    }
+
+    /**
+     * Returns the DateValue of the last day of the quarter of this one.
+     * @return the resulting DateValue.
+     */
+    public DateValue lastDayOfQuarter() {
+        return ofEpochDay(PeriodTables.lastDayOfQuarter(epochDay));
+    }
+
+    /**
+     * Returns the fiscal year of this DateValue in the given fiscal calendar.
+     * @param fiscalCalendar the fiscal calendar.
+     * @return the fiscal year.
+     * @see FiscalCalendar#fiscalYear(DateValue)
+     */
+    public int getFiscalYear(FiscalCalendar fiscalCalendar) {
+        return fiscalCalendar.fiscalYear(epochDay);
+    }
+
+    /**
+     * Returns the fiscal period (1 to 12) of this DateValue in the given fiscal calendar.
+     * @param fiscalCalendar the fiscal calendar.
+     * @return the fiscal period.
+     */
+    public int getFiscalPeriod(FiscalCalendar fiscalCalendar) {
+        return fiscalCalendar.fiscalPeriod(epochDay);
+    }
+
+    /**
+     * Returns the DateValue of the first day of the fiscal period of this one in the given fiscal calendar.
+     * @param fiscalCalendar the fiscal calendar.
+     * @return the resulting DateValue.
+     */
+    public DateValue firstDayOfFiscalPeriod(FiscalCalendar fiscalCalendar) {
+        return ofEpochDay(fiscalCalendar.firstDayOfFiscalPeriod(epochDay));
+    }
+
+    /**
+     * Returns the DateValue of the last day of the fiscal period of this one in the given fiscal calendar.
+     * @param fiscalCalendar the fiscal calendar.
+     * @return the resulting DateValue.
+     */
+    public DateValue lastDayOfFiscalPeriod(FiscalCalendar fiscalCalendar) {
+        return ofEpochDay(fiscalCalendar.lastDayOfFiscalPeriod(epochDay));
+    }
+
+    /**
+     * Returns the number of days from this DateValue to the given date. The result is negative if the given date is
+     * before this one.
+     * @param other the other date.
+     * @return the number of days.
+     */
+    public int daysBetween(DateValue other) {
+        return other.epochDay - epochDay;
+    }
+
+    /**
+     * Returns the number of whole months from this DateValue to the given date, with the same end of month rules as
+     * {@link #monthsAhead(int)}. The result is negative if the given date is before this one.
+     * @param other the other date.
+     * @return the number of months.
+     * @see DateBuilder#monthsBetween(DateBuilder)
+     */
+    public int monthsBetween(DateValue other) {
+        return EpochDays.monthsBetween(epochDay, other.epochDay);
+    }
+
+    /**
+     * Returns the number of whole years from this DateValue to the given date, with the same end of month rules as
+     * {@link #yearsAhead(int)}. The result is negative if the given date is before this one.
+     * @param other the other date.
+     * @return the number of years.
+     */
+    public int yearsBetween(DateValue other) {
+        return EpochDays.monthsBetween(epochDay, other.epochDay) / 12;
+    }
+
+    /**
+     * Returns the years, months and days from this DateValue to the given date.
+     * @param other the other date.
+     * @return the DatePeriod.
+     * @see DateBuilder#periodBetween(DateBuilder)
+     */
+    public DatePeriod periodBetween(DateValue other) {
+        return DatePeriod.between(epochDay, other.epochDay);
+    }
+
+    /**
+     * Returns the epoch-day (number of days since 1970-01-01) of this DateValue.
+     */
+    int epochDay() {
+        return epochDay;
+    }
+
+    /**
+     * Returns a DateValue moved from this one as described by the given expression.
+     * @param expression the date expression.
+     * @return the resulting DateValue.
+     */
+    public DateValue apply(DateExpression expression) {
+        return ofEpochDay(expression.evaluate(epochDay));
+    }
+
+    /**
+     * Returns a new (mutable) DateBuilder initialized with this DateValue.
+     * @return the new DateBuilder instance.
+     */
+    public DateBuilder toBuilder() {
+        return DateBuilder.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Converts this DateValue to a java.util.Date.
+     * The time part (hours, minutes, seconds, milliseconds) of the Date is always 0:00:00.000.
+     * @return the java.util.Date.
+     */
+    public Date toDate() {
+        return new Date(ZoneMidnights.forZone(TimeZone.getDefault()).toMillis(epochDay));
+    }
+
+    /**
+     * Converts this date to a java.util.Date at midnight in the given time zone.
+     * @param zone the time zone.
+     * @return the java.util.Date.
+     */
+    public Date toDate(TimeZone zone) {
+        return new Date(ZoneMidnights.forZone(zone).toMillis(epochDay));
+    }
+
+    /**
+     * Converts this DateValue to a java.sql.Date.
+     * The time part (hours, minutes, seconds) of the Date is always 0:00:00.
+     * @return the java.sql.Date.
+     */
+    public java.sql.Date toSqlDate() {
+        return new java.sql.Date(ZoneMidnights.forZone(TimeZone.getDefault()).toMillis(epochDay));
+    }
+
+    /**
+     * Sets the given (reusable) Date to midnight of this date in the default time zone. Works for java.sql.Date
+     * and java.sql.Timestamp as well.
+     * @param date the Date to overwrite.
+     * @return the given Date.
+     */
+    public <D extends Date> D writeTo(D date) {
+        date.setTime(ZoneMidnights.forZone(TimeZone.getDefault()).toMillis(epochDay));
+        return date;
+    }
+
+    /**
+     * Returns the number of days between 1970-01-01 and this date (negative for earlier dates).
+     * @return the epoch-day.
+     */
+    public int toEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * Returns the milliseconds since 1970-01-01T00:00:00Z of midnight of this date in the given time zone.
+     * @param zone the time zone.
+     * @return the milliseconds.
+     */
+    public long toEpochMillis(TimeZone zone) {
+        return ZoneMidnights.forZone(zone).toMillis(epochDay);
+    }
+
+    /**
+     * Returns the milliseconds since 1970-01-01T00:00:00Z of midnight of this date in the time zone with the given ID.
+     * @param zoneId the time zone ID, e.g. <code>Europe/Berlin</code> or <code>GMT+02:00</code>.
+     * @return the milliseconds.
+     * @throws IllegalArgumentException if there is no time zone with the given ID.
+     */
+    public long toEpochMillis(String zoneId) {
+        return ZoneMidnights.forZone(zoneId).toMillis(epochDay);
+    }
+
+    /**
+     * Converts this DateValue to a String.
+     * Uses the systems default DateFormat instance to format the date string.
+     * @return the date string.
+     */
+    @Override
+    public String toString() {
+        return DateText.format(epochDay);
+    }
+
+    /**
+     * Appends this DateValue to the given StringBuilder, formatted just like {@link #toString()}.
+     * @param target the StringBuilder.
+     * @return the given StringBuilder.
+     * @see DateBuilder#formatTo(StringBuilder)
+     */
+    public StringBuilder formatTo(StringBuilder target) {
+        return DateText.formatTo(epochDay, target);
+    }
+
+    /**
+     * Appends this DateValue to the given Appendable, formatted using the given format pattern.
+     * @param target the Appendable.
+     * @param format the date format pattern.
+     * @return the given Appendable.
+     * @throws RuntimeException if the Appendable throws an IOException.
+     * @see DateBuilder#formatTo(Appendable, String)
+     */
+    public <A extends Appendable> A formatTo(A target, String format) {
+        return DateText.formatTo(epochDay, target, format);
+    }
+
+    /**
+     * Indicates whether some other object is a DateValue that represents the same date (day, month, year).
+     * @param otherObject the other object.
+     * @return <code>true</code> if the other object is "equal to" this one, otherwise returns <code>false</code>.
+     * @see Object#equals(Object)
+     */
+    @Override
+    public boolean equals(Object otherObject) {
+        if (this == otherObject) return true;
+        if (otherObject == null || getClass() != otherObject.getClass()) return false;
+
+        return epochDay == ((DateValue) otherObject).epochDay;
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     * @return the hash code value.
+     * @see Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return EpochDays.hash(epochDay);
+    }
+
+    /**
+     * Compares this DateValue with the given one.
+     * @param other the other DateValue.
+     * @return a negative value, zero or a positive value if this date is before, the same as or after the other date.
+     * @see Comparable#compareTo(Object)
+     */
+    @Override
+    public int compareTo(DateValue other) {
+        return Integer.compare(epochDay, other.epochDay);
+    }
+}
@@ -0,0 +1,226 @@
+package de.javandry.testutils;
+
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * Proleptic gregorian date arithmetic on primitive epoch-day values.<br/>
+ * <br/>
+ * An epoch-day is the number of days since 1970-01-01 (which is epoch-day 0). All conversions are done with plain
+ * integer arithmetic, no Calendar instance is involved. Dates are packed into a single int as
+ * <code>year &lt;&lt; 9 | month &lt;&lt; 5 | day</code> where a combined year/month/day result is needed.
+ */
+final class EpochDays {
+
+    static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private static final int DAYS_PER_CYCLE = 146097;
+    private static final int DAYS_0000_TO_1970 = 719468;
+
+    private EpochDays() {
+    }
+
+    /**
+     * Returns the epoch-day of the given date. The values are interpreted leniently just like a lenient Calendar
+     * does, e.g. month 13 is the first month of the following year and day 0 is the last day of the previous month.
+     * @param year the year.
+     * @param month the month (1 based).
+     * @param day the day of month (1 based).
+     * @return the epoch-day.
+     */
+    static int of(int year, int month, int day) {
+        long monthIndex = (long) year * 12 + month - 1;
+        long y = floorDiv(monthIndex, 12);
+        int m = (int) (monthIndex - y * 12) + 1;
+        return (int) (daysFromCivil(y, m) + day - 1);
+    }
+
+    /**
+     * Returns the epoch-day of the given java.util.Date in the given time zone.
+     * @param millis the milliseconds since 1970-01-01T00:00:00Z.
+     * @param zone the time zone.
+     * @return the epoch-day.
+     */
+    static int ofMillis(long millis, TimeZone zone) {
+        return (int) floorDiv(millis + zone.getOffset(millis), MILLIS_PER_DAY);
+    }
+
+    /**
+     * Returns the milliseconds since 1970-01-01T00:00:00Z of midnight of the given epoch-day in the given time zone.
+     * If midnight does not exist in the time zone (daylight saving time starting at midnight), the first instant of
+     * the day is returned; if it exists twice (daylight saving time ending at midnight), the later one is returned,
+     * just like a lenient Calendar does.
+     * @param epochDay the epoch-day.
+     * @param zone the time zone.
+     * @return the milliseconds.
+     */
+    static long toMillis(int epochDay, TimeZone zone) {
+        long local = epochDay * MILLIS_PER_DAY;
+        int offsetBefore = zone.getOffset(local - MILLIS_PER_DAY);
+        int offsetAfter = zone.getOffset(local + MILLIS_PER_DAY);
+        if (offsetBefore == offsetAfter) {
+            return local - offsetBefore;
+        }
+        long millisBefore = local - offsetBefore;
+        long millisAfter = local - offsetAfter;
+        boolean validBefore = zone.getOffset(millisBefore) == offsetBefore;
+        boolean validAfter = zone.getOffset(millisAfter) == offsetAfter;
+        if (validBefore != validAfter) {
+            return validBefore ? millisBefore : millisAfter;
+        }
+        return Math.max(millisBefore, millisAfter);
+    }
+
+    /**
+     * Returns the packed year/month/day value of the given epoch-day.
+     * @param epochDay the epoch-day.
+     * @return the packed date.
+     */
+    static int toPacked(int epochDay) {
+        long z = (long) epochDay + DAYS_0000_TO_1970;
+        long era = floorDiv(z, DAYS_PER_CYCLE);
+        int dayOfEra = (int) (z - era * DAYS_PER_CYCLE);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+        return pack(year, month, day);
+    }
+
+    static int pack(int year, int month, int day) {
+        return year << 9 | month << 5 | day;
+    }
+
+    static int year(int packed) {
+        return packed >> 9;
+    }
+
+    static int month(int packed) {
+        return (packed >> 5) & 0xF;
+    }
+
+    static int day(int packed) {
+        return packed & 0x1F;
+    }
+
+    /**
+     * Returns the ISO day of week of the given epoch-day (1 = monday ... 7 = sunday).
+     * @param epochDay the epoch-day.
+     * @return the day of week.
+     */
+    static int dayOfWeek(int epochDay) {
+        return floorMod(epochDay + 3L, 7) + 1;
+    }
+
+    /**
+     * Returns the given epoch-day moved by the given number of months. The day of month is pinned to the last day
+     * of the resulting month if it would exceed it (just like <code>Calendar.add(MONTH, months)</code> does).
+     * @param epochDay the epoch-day.
+     * @param months the number of months.
+     * @return the resulting epoch-day.
+     */
+    static int plusMonths(int epochDay, int months) {
+        if (months == 0) {
+            return epochDay;
+        }
+        int packed = toPacked(epochDay);
+        long monthIndex = (long) year(packed) * 12 + month(packed) - 1 + months;
+        long y = floorDiv(monthIndex, 12);
+        int m = (int) (monthIndex - y * 12) + 1;
+        int d = Math.min(day(packed), lengthOfMonth(y, m));
+        return (int) (daysFromCivil(y, m) + d - 1);
+    }
+
+    /**
+     * Returns the number of whole months from the first to the second epoch-day, consistent with
+     * {@link #plusMonths(int, int)}: the largest <code>n</code> with <code>plusMonths(from, n) &lt;= to</code>, or,
+     * if <code>to</code> is before <code>from</code>, the smallest <code>n</code> with
+     * <code>plusMonths(from, n) &gt;= to</code>. So Jan 31st to Feb 29th is one month, to Feb 28th zero months.
+     * @param from the first epoch-day.
+     * @param to the second epoch-day.
+     * @return the number of months (negative if <code>to</code> is before <code>from</code>).
+     */
+    static int monthsBetween(int from, int to) {
+        int fromPacked = toPacked(from);
+        int toPacked = toPacked(to);
+        int months = (year(toPacked) - year(fromPacked)) * 12 + month(toPacked) - month(fromPacked);
+        if (months > 0 && plusMonths(from, months) > to) {
+            months--;
+        } else if (months < 0 && plusMonths(from, months) < to) {
+            months++;
+        }
+        return months;
+    }
+
+    /**
+     * Returns a well distributed hash code of the given epoch-day (consecutive days do not produce consecutive hash
+     * codes).
+     * @param epochDay the epoch-day.
+     * @return the hash code.
+     */
+    static int hash(int epochDay) {
+        int h = epochDay * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Switches the given calendar to gregorian rules for all dates, if it is a GregorianCalendar.
+     * @param calendar the calendar.
+     */
+    static void makeProleptic(java.util.Calendar calendar) {
+        if (calendar instanceof GregorianCalendar) {
+            ((GregorianCalendar) calendar).setGregorianChange(GregorianChange.NONE);
+        }
+    }
+
+    static long floorDiv(long x, long y) {
+        long q = x / y;
+        return (x % y != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
+    static int floorMod(long x, int y) {
+        return (int) (x - floorDiv(x, y) * y);
+    }
+
+    /**
+     * Returns the epoch-day of the first day of the given month.
+     */
+    private static long daysFromCivil(long year, int month) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = floorDiv(y, 400);
+        int yearOfEra = (int) (y - era * 400);
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Holder of the gregorian change date of proleptic calendars, initialized (together with the calendar classes)
+     * only when a calendar is actually needed.
+     */
+    private static final class GregorianChange {
+
+        static final Date NONE = new Date(Long.MIN_VALUE);
+    }
+}
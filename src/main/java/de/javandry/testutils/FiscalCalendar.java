@@ -0,0 +1,206 @@
+package de.javandry.testutils;
+
+import java.util.Arrays;
+
+/**
+ * Immutable definition of a 52/53 week fiscal year split into twelve periods of whole weeks, like the retail
+ * 4-4-5 calendar.<br/>
+ * <br/>
+ * A fiscal year ends on a fixed day of week, either the last one of a given month or the one nearest to the end
+ * of a given month, and is named after the calendar year it ends in. Days of week are ISO days of week
+ * (1 = monday ... 7 = sunday, like <code>java.time.DayOfWeek.getValue()</code>) and months are 1 based, like
+ * everywhere else in DateBuilder. Each quarter is split into three periods of 4, 4 and 5 weeks (or 4-5-4, 5-4-4);
+ * in years of 53 weeks the extra week is added to the last period.<br/>
+ * The first day of every fiscal year from 1900 up to 2100 is computed once when the calendar is created, so fiscal
+ * period queries are an estimate and a few array reads.<br/>
+ * <br/>
+ * Examples:<br/>
+ * <code>
+ *     FiscalCalendar fiscal = FiscalCalendar.fourFourFive().endingNearest(6, 1); // saturday nearest end of january
+ *     DateBuilder.givenDate(14, 12, 2012).lastDayOfFiscalPeriod(fiscal); // 22-12-2012
+ * </code>
+ */
+public final class FiscalCalendar {
+
+    private static final int YEARS = PeriodTables.END_YEAR - PeriodTables.FIRST_YEAR;
+
+    /**
+     * Number of weeks from the start of the fiscal year to the start of each period.
+     */
+    private final int[] periodStartWeeks;
+
+    /**
+     * Period index (0 to 11) of each week (0 to 52) of a fiscal year.
+     */
+    private final byte[] periodOfWeek;
+
+    /**
+     * ISO day of week (1 = monday ... 7 = sunday) the fiscal year ends on.
+     */
+    private final int endDayOfWeek;
+
+    /**
+     * Calendar month (1 based) the fiscal year ends in or near.
+     */
+    private final int endMonth;
+    private final boolean nearest;
+
+    /**
+     * Epoch-day of the first day of each fiscal year from FIRST_YEAR to END_YEAR (inclusive).
+     */
+    private final int[] yearStarts;
+
+    /**
+     * Returns a 4-4-5 calendar whose fiscal years end on the last saturday of december.
+     * @return the FiscalCalendar.
+     */
+    public static FiscalCalendar fourFourFive() {
+        return new FiscalCalendar(new int[]{4, 4, 5}, 6, 12, false);
+    }
+
+    /**
+     * Returns a 4-5-4 calendar whose fiscal years end on the last saturday of december.
+     * @return the FiscalCalendar.
+     */
+    public static FiscalCalendar fourFiveFour() {
+        return new FiscalCalendar(new int[]{4, 5, 4}, 6, 12, false);
+    }
+
+    /**
+     * Returns a 5-4-4 calendar whose fiscal years end on the last saturday of december.
+     * @return the FiscalCalendar.
+     */
+    public static FiscalCalendar fiveFourFour() {
+        return new FiscalCalendar(new int[]{5, 4, 4}, 6, 12, false);
+    }
+
+    private FiscalCalendar(int[] weeksPerQuarterPeriod, int dayOfWeek, int month, boolean nearest) {
+        if (dayOfWeek < 1 || dayOfWeek > 7) {
+            throw new IllegalArgumentException("no day of week: " + dayOfWeek);
+        }
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("no month: " + month);
+        }
+        this.periodStartWeeks = new int[12];
+        this.periodOfWeek = new byte[53];
+        int weeks = 0;
+        for (int period = 0; period < 12; period++) {
+            periodStartWeeks[period] = weeks;
+            int periodWeeks = weeksPerQuarterPeriod[period % 3];
+            Arrays.fill(periodOfWeek, weeks, Math.min(weeks + periodWeeks, 53), (byte) period);
+            weeks += periodWeeks;
+        }
+        periodOfWeek[52] = 11;
+        this.endDayOfWeek = dayOfWeek;
+        this.endMonth = month;
+        this.nearest = nearest;
+        this.yearStarts = new int[YEARS + 1];
+        for (int i = 0; i < yearStarts.length; i++) {
+            yearStarts[i] = computeYearEnd(PeriodTables.FIRST_YEAR + i - 1) + 1;
+        }
+    }
+
+    /**
+     * Returns a calendar with the same periods whose fiscal years end on the last given day of week of the given
+     * month.
+     * @param dayOfWeek the ISO day of week (1 = monday ... 7 = sunday).
+     * @param month the month (1 based).
+     * @return the FiscalCalendar.
+     * @throws IllegalArgumentException if the day of week or the month is invalid.
+     */
+    public FiscalCalendar endingOnLast(int dayOfWeek, int month) {
+        return new FiscalCalendar(weeksPerQuarterPeriod(), dayOfWeek, month, false);
+    }
+
+    /**
+     * Returns a calendar with the same periods whose fiscal years end on the given day of week nearest to the last
+     * day of the given month (which may be up to three days into the following month).
+     * @param dayOfWeek the ISO day of week (1 = monday ... 7 = sunday).
+     * @param month the month (1 based).
+     * @return the FiscalCalendar.
+     * @throws IllegalArgumentException if the day of week or the month is invalid.
+     */
+    public FiscalCalendar endingNearest(int dayOfWeek, int month) {
+        return new FiscalCalendar(weeksPerQuarterPeriod(), dayOfWeek, month, true);
+    }
+
+    private int[] weeksPerQuarterPeriod() {
+        return new int[]{periodStartWeeks[1], periodStartWeeks[2] - periodStartWeeks[1], 13 - periodStartWeeks[2]};
+    }
+
+    /**
+     * Returns the fiscal year of the given date, named after the calendar year it ends in.
+     * @param date the date.
+     * @return the fiscal year.
+     */
+    public int fiscalYear(DateValue date) {
+        return fiscalYear(date.epochDay());
+    }
+
+    /**
+     * Returns the fiscal period (1 to 12) of the given date.
+     * @param date the date.
+     * @return the fiscal period.
+     */
+    public int fiscalPeriod(DateValue date) {
+        return fiscalPeriod(date.epochDay());
+    }
+
+    /**
+     * Returns the first day of the fiscal period of the given date.
+     * @param date the date.
+     * @return the first day of the fiscal period.
+     */
+    public DateValue firstDayOfFiscalPeriod(DateValue date) {
+        return DateValue.ofEpochDay(firstDayOfFiscalPeriod(date.epochDay()));
+    }
+
+    /**
+     * Returns the last day of the fiscal period of the given date.
+     * @param date the date.
+     * @return the last day of the fiscal period.
+     */
+    public DateValue lastDayOfFiscalPeriod(DateValue date) {
+        return DateValue.ofEpochDay(lastDayOfFiscalPeriod(date.epochDay()));
+    }
+
+    int fiscalYear(int epochDay) {
+        int year = PeriodTables.FIRST_YEAR + (int) EpochDays.floorDiv(((long) epochDay - yearStarts[0]) * 400, 146097);
+        while (epochDay < yearStart(year)) {
+            year--;
+        }
+        while (epochDay >= yearStart(year + 1)) {
+            year++;
+        }
+        return year;
+    }
+
+    int fiscalPeriod(int epochDay) {
+        return periodOfWeek[(epochDay - yearStart(fiscalYear(epochDay))) / 7] + 1;
+    }
+
+    int firstDayOfFiscalPeriod(int epochDay) {
+        int yearStart = yearStart(fiscalYear(epochDay));
+        return yearStart + periodStartWeeks[periodOfWeek[(epochDay - yearStart) / 7]] * 7;
+    }
+
+    int lastDayOfFiscalPeriod(int epochDay) {
+        int year = fiscalYear(epochDay);
+        int yearStart = yearStart(year);
+        int period = periodOfWeek[(epochDay - yearStart) / 7];
+        return period == 11 ? yearStart(year + 1) - 1 : yearStart + periodStartWeeks[period + 1] * 7 - 1;
+    }
+
+    private int yearStart(int year) {
+        int index = year - PeriodTables.FIRST_YEAR;
+        return index >= 0 && index <= YEARS ? yearStarts[index] : computeYearEnd(year - 1) + 1;
+    }
+
+    private int computeYearEnd(int year) {
+        int lastDayOfMonth = EpochDays.of(year, endMonth + 1, 0);
+        int dayOfWeek = EpochDays.dayOfWeek(lastDayOfMonth);
+        return nearest
+                ? lastDayOfMonth - EpochDays.floorMod(dayOfWeek - endDayOfWeek + 3, 7) + 3
+                : lastDayOfMonth - EpochDays.floorMod(dayOfWeek - endDayOfWeek, 7);
+    }
+}
@@ -0,0 +1,226 @@
+package de.javandry.testutils;
+
+import de.javandry.testutils.DateBuilderMetrics.Counter;
+
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled form of a purely numeric, fixed width date format pattern like <code>dd.MM.yyyy</code> or
+ * <code>yyyy-MM-dd</code>.<br/>
+ * <br/>
+ * A pattern qualifies if it contains exactly one <code>dd</code>, one <code>MM</code> and one <code>yyyy</code>
+ * field and otherwise only unquoted non-letter literals. Such a pattern is parsed by reading the digits straight
+ * from the text, without creating any objects. Text that does not have exactly the shape of the pattern is reported
+ * as {@link #NO_MATCH}, so the caller can fall back to SimpleDateFormat, which also accepts e.g. fewer digits or
+ * trailing text. Dates with a four digit year are formatted by writing the digits directly to the target.<br/>
+ * The default date style patterns of the locales (see {@link #forLocale(Locale)}) may also use a single
+ * <code>y</code> for the year, as the CLDR locale data does (e.g. <code>dd.MM.y</code> for german). Such a year is
+ * written with as many digits as needed, so these patterns are only used for the years 1000 to 9999, which have
+ * four digits either way. Instances are immutable and thread-safe.
+ */
+final class FixedDatePattern {
+
+    /**
+     * Result of {@link #parse(CharSequence, int, int)} if the text does not match the pattern.
+     */
+    static final long NO_MATCH = Long.MIN_VALUE;
+
+    private static final int MAX_CACHED_PATTERNS = 256;
+
+    private static final FixedDatePattern NOT_FIXED = new FixedDatePattern("", -1, -1, -1, 1);
+
+    private static final ConcurrentMap<String, FixedDatePattern> PATTERNS =
+            new ConcurrentHashMap<String, FixedDatePattern>();
+
+    private static final ConcurrentMap<Locale, FixedDatePattern> LOCALE_PATTERNS =
+            new ConcurrentHashMap<Locale, FixedDatePattern>();
+
+    private final String template;
+    private final int dayOffset;
+    private final int monthOffset;
+    private final int yearOffset;
+
+    /**
+     * Smallest year parsed or formatted by this pattern: 1 for <code>yyyy</code>, 1000 for <code>y</code>.
+     */
+    private final int minYear;
+
+    /**
+     * Returns the compiled form of the given pattern, or <code>null</code> if the pattern is not a purely numeric
+     * fixed width pattern.
+     * @param pattern the date format pattern.
+     * @return the compiled pattern or <code>null</code>.
+     */
+    static FixedDatePattern forPattern(String pattern) {
+        FixedDatePattern compiled = PATTERNS.get(pattern);
+        if (compiled == null) {
+            compiled = compile(pattern, false);
+            if (PATTERNS.size() < MAX_CACHED_PATTERNS) {
+                PATTERNS.putIfAbsent(pattern, compiled);
+            }
+        }
+        return compiled == NOT_FIXED ? null : compiled;
+    }
+
+    /**
+     * Returns the compiled form of the default DateFormat date style pattern of the given locale, or
+     * <code>null</code> if that is not a purely numeric fixed width pattern of the gregorian calendar. A single
+     * <code>y</code> is accepted as year, but the returned pattern only parses and formats the years 1000 to 9999.
+     * @param locale the locale.
+     * @return the compiled pattern or <code>null</code>.
+     */
+    static FixedDatePattern forLocale(Locale locale) {
+        FixedDatePattern compiled = LOCALE_PATTERNS.get(locale);
+        if (compiled == null) {
+            DateBuilderMetrics.count(Counter.FORMATTER_CREATED);
+            DateFormat dateFormat = DateFormat.getDateInstance(DateFormat.DEFAULT, locale);
+            compiled = dateFormat instanceof SimpleDateFormat && DateFormats.isGregorian(locale)
+                    ? compile(((SimpleDateFormat) dateFormat).toPattern(), true)
+                    : NOT_FIXED;
+            LOCALE_PATTERNS.putIfAbsent(locale, compiled);
+        }
+        return compiled == NOT_FIXED ? null : compiled;
+    }
+
+    private static FixedDatePattern compile(String pattern, boolean acceptMinimalYear) {
+        StringBuilder template = new StringBuilder(pattern.length() + 3);
+        int dayOffset = -1;
+        int monthOffset = -1;
+        int yearOffset = -1;
+        int minYear = 1;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int runEnd = i;
+            while (runEnd < pattern.length() && pattern.charAt(runEnd) == c) {
+                runEnd++;
+            }
+            int runLength = runEnd - i;
+            if (c == 'd' && runLength == 2 && dayOffset < 0) {
+                dayOffset = template.length();
+                template.append("dd");
+            } else if (c == 'M' && runLength == 2 && monthOffset < 0) {
+                monthOffset = template.length();
+                template.append("MM");
+            } else if (c == 'y' && (runLength == 4 || runLength == 1 && acceptMinimalYear) && yearOffset < 0) {
+                yearOffset = template.length();
+                template.append("yyyy");
+                minYear = runLength == 4 ? 1 : 1000;
+            } else if (c == '\'' || Character.isLetter(c) || isDigit(c)) {
+                return NOT_FIXED;
+            } else {
+                template.append(pattern, i, runEnd);
+            }
+            i = runEnd;
+        }
+        if (dayOffset < 0 || monthOffset < 0 || yearOffset < 0) {
+            return NOT_FIXED;
+        }
+        return new FixedDatePattern(template.toString(), dayOffset, monthOffset, yearOffset, minYear);
+    }
+
+    private FixedDatePattern(String template, int dayOffset, int monthOffset, int yearOffset, int minYear) {
+        this.template = template;
+        this.dayOffset = dayOffset;
+        this.monthOffset = monthOffset;
+        this.yearOffset = yearOffset;
+        this.minYear = minYear;
+    }
+
+    /**
+     * Returns the length of the texts matching this pattern.
+     * @return the length.
+     */
+    int length() {
+        return template.length();
+    }
+
+    /**
+     * Parses the given part of the text. Day and month values are interpreted leniently (e.g. day 32 is the first
+     * day of the following month), just like SimpleDateFormat does.
+     * @param text the text.
+     * @param start the index of the first character to parse.
+     * @param end the index after the last character to parse.
+     * @return the epoch-day of the date or {@link #NO_MATCH} if the text does not match the pattern or its year is
+     *          out of range.
+     */
+    long parse(CharSequence text, int start, int end) {
+        if (end - start != template.length()) {
+            return NO_MATCH;
+        }
+        for (int i = 0; i < template.length(); i++) {
+            char expected = template.charAt(i);
+            char actual = text.charAt(start + i);
+            if (expected == 'd' || expected == 'M' || expected == 'y') {
+                if (!isDigit(actual)) {
+                    return NO_MATCH;
+                }
+            } else if (expected != actual) {
+                return NO_MATCH;
+            }
+        }
+        int day = digits(text, start + dayOffset, 2);
+        int month = digits(text, start + monthOffset, 2);
+        int year = digits(text, start + yearOffset, 4);
+        if (year < minYear) {
+            return NO_MATCH;
+        }
+        return EpochDays.of(year, month, day);
+    }
+
+    /**
+     * Formats the given date and appends it to the target, if its year is in the range of this pattern (see
+     * {@link #forLocale(Locale)}) and has at most four digits.
+     * @param epochDay the epoch-day of the date.
+     * @param target the target to append the formatted date to.
+     * @return <code>true</code> if the date has been formatted, <code>false</code> if its year is out of range (the
+     *          target is left unchanged in this case).
+     * @throws IOException if the target throws an IOException.
+     */
+    boolean format(int epochDay, Appendable target) throws IOException {
+        int packed = EpochDays.toPacked(epochDay);
+        int year = EpochDays.year(packed);
+        if (year < minYear || year > 9999) {
+            return false;
+        }
+        int i = 0;
+        while (i < template.length()) {
+            if (i == dayOffset) {
+                appendDigits(target, EpochDays.day(packed), 2);
+                i += 2;
+            } else if (i == monthOffset) {
+                appendDigits(target, EpochDays.month(packed), 2);
+                i += 2;
+            } else if (i == yearOffset) {
+                appendDigits(target, year, 4);
+                i += 4;
+            } else {
+                target.append(template.charAt(i++));
+            }
+        }
+        return true;
+    }
+
+    private static void appendDigits(Appendable target, int value, int count) throws IOException {
+        for (int divisor = count == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            target.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            value = value * 10 + text.charAt(i) - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
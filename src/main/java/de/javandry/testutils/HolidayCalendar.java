@@ -0,0 +1,261 @@
+package de.javandry.testutils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable definition of working days: all days except the weekend days and the holidays.<br/>
+ * <br/>
+ * A HolidayCalendar is compiled into a weekly working day mask and a sorted array of the holidays that fall on a
+ * working day of the week. Working days between two dates are counted with weekday arithmetic and two binary
+ * searches, so business day arithmetic of any length costs O(log h) with h being the number of holidays.<br/>
+ * <br/>
+ * Examples:<br/>
+ * <code>
+ *     HolidayCalendar holidays = HolidayCalendar.of(givenDate(25, 12, 2012), givenDate(26, 12, 2012));
+ *     DateBuilder.givenDate(21, 12, 2012).workdaysAhead(2, holidays); // 27-12-2012
+ *     HolidayCalendar.load(new File("src/test/resources/holidays-de.txt")); // loaded once per JVM
+ * </code>
+ */
+public final class HolidayCalendar {
+
+    private static final int SATURDAY_AND_SUNDAY = 1 << 6 | 1 << 7;
+
+    private static final HolidayCalendar WEEKENDS_ONLY = new HolidayCalendar(SATURDAY_AND_SUNDAY, new int[0]);
+
+    private static final ConcurrentMap<String, HolidayCalendar> LOADED_CALENDARS =
+            new ConcurrentHashMap<String, HolidayCalendar>();
+
+    /**
+     * Bit <code>n</code> is set if ISO day of week <code>n</code> (1 = monday ... 7 = sunday) is a weekend day.
+     */
+    private final int weekendMask;
+    private final int workdaysPerWeek;
+
+    /**
+     * Epoch-days of all holidays, sorted and without duplicates.
+     */
+    private final int[] allHolidays;
+
+    /**
+     * Epoch-days of the holidays falling on a working day of the week, sorted and without duplicates.
+     */
+    private final int[] holidays;
+
+    /**
+     * Returns a calendar without holidays and saturday and sunday as weekend days.
+     * @return the HolidayCalendar.
+     */
+    public static HolidayCalendar weekendsOnly() {
+        return WEEKENDS_ONLY;
+    }
+
+    /**
+     * Returns a calendar with the given holidays and saturday and sunday as weekend days.
+     * @param holidays the holidays.
+     * @return the HolidayCalendar.
+     */
+    public static HolidayCalendar of(DateValue... holidays) {
+        int[] epochDays = new int[holidays.length];
+        for (int i = 0; i < holidays.length; i++) {
+            epochDays[i] = holidays[i].epochDay();
+        }
+        return new HolidayCalendar(SATURDAY_AND_SUNDAY, epochDays);
+    }
+
+    /**
+     * Returns the calendar defined by the given file. The file is read only once per JVM; later calls for the same
+     * file return the cached calendar.<br/>
+     * The file must be UTF-8 encoded and contain one holiday per line in the format <code>yyyy-MM-dd</code>.
+     * Everything after a <code>#</code> is a comment, blank lines are ignored. Saturday and sunday are the weekend
+     * days.
+     * @param file the file.
+     * @return the HolidayCalendar.
+     * @throws RuntimeException if the file could not be read.
+     * @throws IllegalArgumentException if the file contains a line that is no valid date.
+     */
+    public static HolidayCalendar load(File file) {
+        String path;
+        try {
+            path = file.getCanonicalPath();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        HolidayCalendar calendar = LOADED_CALENDARS.get(path);
+        if (calendar == null) {
+            calendar = read(file);
+            HolidayCalendar existing = LOADED_CALENDARS.putIfAbsent(path, calendar);
+            if (existing != null) {
+                calendar = existing;
+            }
+        }
+        return calendar;
+    }
+
+    private static HolidayCalendar read(File file) {
+        FixedDatePattern pattern = FixedDatePattern.forPattern("yyyy-MM-dd");
+        int[] holidays = new int[64];
+        int count = 0;
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            try {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    int comment = line.indexOf('#');
+                    String date = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                    if (date.isEmpty()) {
+                        continue;
+                    }
+                    long epochDay = pattern.parse(date, 0, date.length());
+                    if (epochDay == FixedDatePattern.NO_MATCH) {
+                        throw new IllegalArgumentException(
+                                file + ":" + lineNumber + ": no date in format yyyy-MM-dd: \"" + date + "\"");
+                    }
+                    if (count == holidays.length) {
+                        holidays = Arrays.copyOf(holidays, count * 2);
+                    }
+                    holidays[count++] = (int) epochDay;
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return new HolidayCalendar(SATURDAY_AND_SUNDAY, Arrays.copyOf(holidays, count));
+    }
+
+    private HolidayCalendar(int weekendMask, int[] holidays) {
+        this.weekendMask = weekendMask;
+        this.workdaysPerWeek = 7 - Integer.bitCount(weekendMask);
+        if (workdaysPerWeek == 0) {
+            throw new IllegalArgumentException("at least one day of the week must be a working day");
+        }
+        int[] sorted = holidays.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (distinct == 0 || sorted[distinct - 1] != sorted[i]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        this.allHolidays = Arrays.copyOf(sorted, distinct);
+        int count = 0;
+        for (int i = 0; i < distinct; i++) {
+            if (isWorkingDayOfWeek(sorted[i])) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        this.holidays = Arrays.copyOf(sorted, count);
+    }
+
+    /**
+     * Returns a calendar with the same holidays but the given weekend days.
+     * @param daysOfWeek the weekend days as ISO days of week (1 = monday ... 7 = sunday, like
+     *          <code>java.time.DayOfWeek.getValue()</code>).
+     * @return the HolidayCalendar.
+     * @throws IllegalArgumentException if all days of the week are weekend days.
+     */
+    public HolidayCalendar withWeekend(int... daysOfWeek) {
+        int mask = 0;
+        for (int dayOfWeek : daysOfWeek) {
+            if (dayOfWeek < 1 || dayOfWeek > 7) {
+                throw new IllegalArgumentException("no day of week: " + dayOfWeek);
+            }
+            mask |= 1 << dayOfWeek;
+        }
+        return new HolidayCalendar(mask, allHolidays);
+    }
+
+    /**
+     * Indicates whether the given date is a working day (neither a weekend day nor a holiday).
+     * @param date the date.
+     * @return <code>true</code> if the date is a working day.
+     */
+    public boolean isWorkday(DateValue date) {
+        return isWorkday(date.epochDay());
+    }
+
+    boolean isWorkday(int epochDay) {
+        return isWorkingDayOfWeek(epochDay) && Arrays.binarySearch(holidays, epochDay) < 0;
+    }
+
+    private boolean isWorkingDayOfWeek(int epochDay) {
+        return (weekendMask & 1 << EpochDays.dayOfWeek(epochDay)) == 0;
+    }
+
+    /**
+     * Returns the number of working days <code>d</code> with <code>from &lt; d &lt;= to</code>, or the negated
+     * number of working days <code>d</code> with <code>to &lt; d &lt;= from</code> if <code>to</code> is before
+     * <code>from</code>.
+     */
+    int workdaysBetween(int from, int to) {
+        return from <= to ? countWorkdays(from + 1, to + 1) : -countWorkdays(to + 1, from + 1);
+    }
+
+    /**
+     * Returns the number of working days <code>d</code> with <code>start &lt;= d &lt; end</code>.
+     */
+    private int countWorkdays(int start, int end) {
+        return countWorkingDaysOfWeek(start, end) - countHolidays(start, end);
+    }
+
+    private int countWorkingDaysOfWeek(int start, int end) {
+        int days = end - start;
+        int count = days / 7 * workdaysPerWeek;
+        for (int epochDay = end - days % 7; epochDay < end; epochDay++) {
+            if (isWorkingDayOfWeek(epochDay)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int countHolidays(int start, int end) {
+        return lowerBound(end) - lowerBound(start);
+    }
+
+    private int lowerBound(int epochDay) {
+        int index = Arrays.binarySearch(holidays, epochDay);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Returns the epoch-day the given number of working days after (or, if negative, before) the given epoch-day.
+     * @throws IllegalArgumentException if the result could be outside of the int range of epoch-days.
+     */
+    int plusWorkdays(int epochDay, int workdays) {
+        long maxDays = ((Math.abs((long) workdays) + holidays.length) / workdaysPerWeek + 1) * 7;
+        if (maxDays >= Integer.MAX_VALUE || epochDay + maxDays >= Integer.MAX_VALUE
+                || epochDay - maxDays <= Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("workdays out of range: " + workdays);
+        }
+        int direction = workdays >= 0 ? 1 : -1;
+        int remaining = Math.abs(workdays);
+        int current = epochDay;
+        while (remaining > 0) {
+            int weeks = (remaining - 1) / workdaysPerWeek;
+            if (weeks > 0) {
+                int next = current + direction * weeks * 7;
+                remaining -= direction > 0
+                        ? countWorkdays(current + 1, next + 1)
+                        : countWorkdays(next, current);
+                current = next;
+            } else {
+                current += direction;
+                if (isWorkday(current)) {
+                    remaining--;
+                }
+            }
+        }
+        return current;
+    }
+}
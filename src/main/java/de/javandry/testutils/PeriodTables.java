@@ -0,0 +1,130 @@
+package de.javandry.testutils;
+
+/**
+ * ISO week and quarter arithmetic on epoch-days, backed by per-year lookup tables.<br/>
+ * <br/>
+ * The tables hold the first day of every quarter and the monday of ISO week 1 of every year from
+ * {@value #FIRST_YEAR} up to {@value #END_YEAR}, so a week or quarter query is an estimate and a few array reads.
+ * Dates outside of these years are computed with plain epoch-day arithmetic.
+ */
+final class PeriodTables {
+
+    static final int FIRST_YEAR = 1900;
+    static final int END_YEAR = 2100;
+
+    private static final int YEARS = END_YEAR - FIRST_YEAR;
+
+    /**
+     * Epoch-day of the first day of each quarter from FIRST_YEAR to END_YEAR (exclusive) plus the first day of
+     * END_YEAR.
+     */
+    private static final int[] QUARTER_STARTS = new int[YEARS * 4 + 1];
+
+    /**
+     * Epoch-day of the monday of ISO week 1 of each year from FIRST_YEAR to END_YEAR (inclusive).
+     */
+    private static final int[] WEEK_YEAR_STARTS = new int[YEARS + 1];
+
+    static {
+        for (int i = 0; i < QUARTER_STARTS.length; i++) {
+            QUARTER_STARTS[i] = EpochDays.of(FIRST_YEAR + i / 4, i % 4 * 3 + 1, 1);
+        }
+        for (int i = 0; i < WEEK_YEAR_STARTS.length; i++) {
+            WEEK_YEAR_STARTS[i] = computeWeekYearStart(FIRST_YEAR + i);
+        }
+    }
+
+    private PeriodTables() {
+    }
+
+    /**
+     * Returns the quarter (1 to 4) of the given epoch-day.
+     */
+    static int quarter(int epochDay) {
+        int index = quarterIndex(epochDay);
+        return index >= 0 ? index % 4 + 1 : (EpochDays.month(EpochDays.toPacked(epochDay)) + 2) / 3;
+    }
+
+    /**
+     * Returns the epoch-day of the first day of the quarter of the given epoch-day.
+     */
+    static int firstDayOfQuarter(int epochDay) {
+        int index = quarterIndex(epochDay);
+        if (index >= 0) {
+            return QUARTER_STARTS[index];
+        }
+        int packed = EpochDays.toPacked(epochDay);
+        return EpochDays.of(EpochDays.year(packed), (EpochDays.month(packed) - 1) / 3 * 3 + 1, 1);
+    }
+
+    /**
+     * Returns the epoch-day of the last day of the quarter of the given epoch-day.
+     */
+    static int lastDayOfQuarter(int epochDay) {
+        int index = quarterIndex(epochDay);
+        if (index >= 0) {
+            return QUARTER_STARTS[index + 1] - 1;
+        }
+        int packed = EpochDays.toPacked(epochDay);
+        return EpochDays.of(EpochDays.year(packed), (EpochDays.month(packed) - 1) / 3 * 3 + 4, 0);
+    }
+
+    /**
+     * Returns the index into QUARTER_STARTS of the quarter of the given epoch-day, or -1 if it is not covered.
+     */
+    private static int quarterIndex(int epochDay) {
+        if (epochDay < QUARTER_STARTS[0] || epochDay >= QUARTER_STARTS[QUARTER_STARTS.length - 1]) {
+            return -1;
+        }
+        int estimate = (int) (((long) epochDay - QUARTER_STARTS[0]) * 1600 / 146097);
+        int index = Math.min(estimate, QUARTER_STARTS.length - 2);
+        while (QUARTER_STARTS[index] > epochDay) {
+            index--;
+        }
+        while (QUARTER_STARTS[index + 1] <= epochDay) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the ISO week-based year of the given epoch-day, which differs from the calendar year for a few days
+     * around new year.
+     */
+    static int isoWeekYear(int epochDay) {
+        int index = quarterIndex(epochDay);
+        int year = index >= 0 ? FIRST_YEAR + index / 4 : EpochDays.year(EpochDays.toPacked(epochDay));
+        if (epochDay < weekYearStart(year)) {
+            return year - 1;
+        }
+        return epochDay >= weekYearStart(year + 1) ? year + 1 : year;
+    }
+
+    /**
+     * Returns the ISO week (1 to 53) of the given epoch-day.
+     */
+    static int isoWeek(int epochDay) {
+        return (epochDay - weekYearStart(isoWeekYear(epochDay))) / 7 + 1;
+    }
+
+    /**
+     * Returns the epoch-day of the monday of ISO week 1 of the given week-based year.
+     */
+    static int weekYearStart(int year) {
+        int index = year - FIRST_YEAR;
+        return index >= 0 && index <= YEARS ? WEEK_YEAR_STARTS[index] : computeWeekYearStart(year);
+    }
+
+    /**
+     * Returns the epoch-day of the given day of week (1 = monday ... 7 = sunday) in the given ISO week of the given
+     * week-based year. Weeks beyond the last week of the year continue into the following year.
+     */
+    static int ofIsoWeek(int year, int week, int dayOfWeek) {
+        return weekYearStart(year) + (week - 1) * 7 + dayOfWeek - 1;
+    }
+
+    private static int computeWeekYearStart(int year) {
+        int january4th = EpochDays.of(year, 1, 4);
+        return january4th - EpochDays.dayOfWeek(january4th) + 1;
+    }
+}
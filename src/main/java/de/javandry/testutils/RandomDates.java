@@ -0,0 +1,190 @@
+package de.javandry.testutils;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible generator of random dates for property based tests.<br/>
+ * <br/>
+ * Dates are drawn uniformly by epoch-day between a first and a last date (both inclusive), so every day of the range
+ * is equally likely and no invalid day/month/year combination is ever normalized. Optionally a share of the dates is
+ * drawn from the edge cases of the range instead: the first and last date, the first day of each year and the last
+ * day of each month (including Feb 29th in leap years).<br/>
+ * <br/>
+ * A RandomDates instance is backed by a <code>java.util.SplittableRandom</code> and, like it, is not thread-safe.
+ * Use {@link #split()} to hand an independent generator to each thread.<br/>
+ * <br/>
+ * Examples:<br/>
+ * <code>
+ *     RandomDates dates = RandomDates.between(givenDate(1, 1, 1900), givenDate(31, 12, 2099)).withSeed(4711);
+ *     dates.next(); // a random DateBuilder
+ *     dates.withEdgeCases(0.2).nextValue(); // a month end, year start, ... in 20% of the cases
+ *     dates.nextEpochDays(new int[1000000]); // bulk generation
+ * </code>
+ */
+public final class RandomDates {
+
+    private final int firstDay;
+    private final int lastDay;
+    private final double edgeCaseProbability;
+    private final int[] edgeCases;
+    private final SplittableRandom random;
+
+    /**
+     * Returns a generator of dates between the given first and last date (both inclusive), seeded randomly.
+     * @param first the first date.
+     * @param last the last date.
+     * @return the RandomDates.
+     * @throws IllegalArgumentException if the last date is before the first date.
+     */
+    public static RandomDates between(DateValue first, DateValue last) {
+        return new RandomDates(first.epochDay(), last.epochDay(), 0, null, new SplittableRandom());
+    }
+
+    /**
+     * Returns a generator of dates between the given first and last date (both inclusive), seeded randomly.
+     * @param first the first date.
+     * @param last the last date.
+     * @return the RandomDates.
+     * @throws IllegalArgumentException if the last date is before the first date.
+     */
+    public static RandomDates between(DateBuilder first, DateBuilder last) {
+        return new RandomDates(first.epochDay(), last.epochDay(), 0, null, new SplittableRandom());
+    }
+
+    private RandomDates(int firstDay, int lastDay, double edgeCaseProbability, int[] edgeCases,
+                        SplittableRandom random) {
+        if (lastDay < firstDay) {
+            throw new IllegalArgumentException("last date is before first date");
+        }
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.edgeCaseProbability = edgeCaseProbability;
+        this.edgeCases = edgeCases;
+        this.random = random;
+    }
+
+    /**
+     * Returns a generator of the same dates seeded with the given seed. Generators with the same range, edge case
+     * probability and seed produce the same sequence of dates.
+     * @param seed the seed.
+     * @return the RandomDates.
+     */
+    public RandomDates withSeed(long seed) {
+        return new RandomDates(firstDay, lastDay, edgeCaseProbability, edgeCases, new SplittableRandom(seed));
+    }
+
+    /**
+     * Returns a generator of the same dates that draws an edge case of the range (first and last date, first day of a
+     * year, last day of a month) with the given probability and a uniformly distributed date otherwise. The returned
+     * generator uses a new random sequence split off from this generator, just like {@link #split()}, so it is
+     * independent of the dates this generator returns afterwards (but still reproducible with the same seed).
+     * @param probability the probability of an edge case (0 to 1).
+     * @return the RandomDates.
+     * @throws IllegalArgumentException if the probability is not between 0 and 1.
+     */
+    public RandomDates withEdgeCases(double probability) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("probability must be between 0 and 1: " + probability);
+        }
+        int[] cases = probability > 0 ? (edgeCases != null ? edgeCases : edgeCases(firstDay, lastDay)) : null;
+        return new RandomDates(firstDay, lastDay, probability, cases, random.split());
+    }
+
+    private static int[] edgeCases(int firstDay, int lastDay) {
+        int first = EpochDays.toPacked(firstDay);
+        int year = EpochDays.year(first);
+        int month = EpochDays.month(first);
+        int[] cases = new int[16];
+        int count = 0;
+        cases[count++] = firstDay;
+        while (true) {
+            int monthEnd = EpochDays.of(year, month, EpochDays.lengthOfMonth(year, month));
+            int next = monthEnd + 1;
+            if (monthEnd > lastDay) {
+                break;
+            }
+            if (count + 2 > cases.length) {
+                cases = Arrays.copyOf(cases, cases.length * 2);
+            }
+            cases[count++] = monthEnd;
+            if (month == 12 && next <= lastDay) {
+                cases[count++] = next;
+            }
+            if (++month > 12) {
+                month = 1;
+                year++;
+            }
+        }
+        if (count == cases.length) {
+            cases = Arrays.copyOf(cases, count + 1);
+        }
+        cases[count++] = lastDay;
+        Arrays.sort(cases, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || cases[distinct - 1] != cases[i]) {
+                cases[distinct++] = cases[i];
+            }
+        }
+        return Arrays.copyOf(cases, distinct);
+    }
+
+    /**
+     * Returns a new generator of the same dates whose random sequence is independent of this one. The two
+     * generators can be used by different threads without any synchronization.
+     * @return the RandomDates.
+     */
+    public RandomDates split() {
+        return new RandomDates(firstDay, lastDay, edgeCaseProbability, edgeCases, random.split());
+    }
+
+    /**
+     * Returns a new DateBuilder set to the next random date.
+     * @return the DateBuilder.
+     */
+    public DateBuilder next() {
+        return DateBuilder.ofEpochDay(nextEpochDay());
+    }
+
+    /**
+     * Returns the next random date.
+     * @return the DateValue.
+     */
+    public DateValue nextValue() {
+        return DateValue.ofEpochDay(nextEpochDay());
+    }
+
+    /**
+     * Fills the given array with the epoch-days (days since 1970-01-01) of random dates. The array receives the same
+     * dates the same number of calls to {@link #nextValue()} would have returned.
+     * @param epochDays the array.
+     * @return the array.
+     */
+    public int[] nextEpochDays(int[] epochDays) {
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = nextEpochDay();
+        }
+        return epochDays;
+    }
+
+    /**
+     * Appends the given number of random dates to the given sequence.
+     * @param sequence the sequence.
+     * @param count the number of dates.
+     * @return the sequence.
+     */
+    public DateSequence nextDates(DateSequence sequence, int count) {
+        for (int i = 0; i < count; i++) {
+            sequence.appendEpochDay(nextEpochDay());
+        }
+        return sequence;
+    }
+
+    int nextEpochDay() {
+        if (edgeCases != null && random.nextDouble() < edgeCaseProbability) {
+            return edgeCases[random.nextInt(edgeCases.length)];
+        }
+        return (int) random.nextLong(firstDay, (long) lastDay + 1);
+    }
+}
@@ -0,0 +1,125 @@
+package de.javandry.testutils;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Precomputed table of the instants of midnight of every day between 1900 and 2100 in a single time zone.<br/>
+ * <br/>
+ * The table stores the offset of midnight from UTC midnight as runs: the first epoch-day of each run and the offset
+ * valid from that day on. Typical zones need a few hundred runs for the two centuries, and looking up the midnight
+ * of a day is a binary search over them. Days outside the table are computed from the time zone directly. Tables
+ * are built on first use and cached per zone (time zones with the same ID and rules share a table). Once 1024 zones
+ * are cached, further zones get no table and compute every midnight from the time zone directly. Instances are
+ * immutable and thread-safe.
+ */
+final class ZoneMidnights {
+
+    private static final int FIRST_DAY = EpochDays.of(1900, 1, 1);
+    private static final int END_DAY = EpochDays.of(2100, 1, 1);
+
+    private static final int MAX_CACHED_ZONES = 1024;
+
+    private static final int[] NO_RUNS = new int[0];
+
+    private static final ConcurrentMap<TimeZone, ZoneMidnights> BY_ZONE = new ConcurrentHashMap<TimeZone, ZoneMidnights>();
+    private static final ConcurrentMap<String, ZoneMidnights> BY_ID = new ConcurrentHashMap<String, ZoneMidnights>();
+
+    private final TimeZone zone;
+    private final int[] startDays;
+    private final int[] offsets;
+
+    /**
+     * Returns the table of the given time zone.
+     * @param zone the time zone.
+     * @return the ZoneMidnights.
+     */
+    static ZoneMidnights forZone(TimeZone zone) {
+        ZoneMidnights midnights = BY_ZONE.get(zone);
+        if (midnights == null) {
+            TimeZone key = (TimeZone) zone.clone();
+            if (BY_ZONE.size() >= MAX_CACHED_ZONES) {
+                return withoutTable(key);
+            }
+            midnights = new ZoneMidnights(key);
+            ZoneMidnights existing = BY_ZONE.putIfAbsent(key, midnights);
+            if (existing != null) {
+                midnights = existing;
+            }
+        }
+        return midnights;
+    }
+
+    /**
+     * Returns an instance without a table, computing every midnight with {@link EpochDays#toMillis(int, TimeZone)}.
+     * @param zone the time zone (not copied).
+     * @return the ZoneMidnights.
+     */
+    static ZoneMidnights withoutTable(TimeZone zone) {
+        return new ZoneMidnights(zone, NO_RUNS, NO_RUNS);
+    }
+
+    /**
+     * Returns the table of the time zone with the given ID.
+     * @param zoneId the time zone ID, e.g. <code>Europe/Berlin</code> or <code>GMT+02:00</code>.
+     * @return the ZoneMidnights.
+     * @throws IllegalArgumentException if there is no time zone with the given ID.
+     */
+    static ZoneMidnights forZone(String zoneId) {
+        ZoneMidnights midnights = BY_ID.get(zoneId);
+        if (midnights == null) {
+            TimeZone zone = TimeZone.getTimeZone(zoneId);
+            if (zone.getID().equals("GMT") && !zoneId.equals("GMT")) {
+                throw new IllegalArgumentException("unknown time zone: " + zoneId);
+            }
+            midnights = forZone(zone);
+            if (BY_ID.size() < MAX_CACHED_ZONES) {
+                BY_ID.putIfAbsent(zoneId, midnights);
+            }
+        }
+        return midnights;
+    }
+
+    private ZoneMidnights(TimeZone zone) {
+        this.zone = zone;
+        int[] startDays = new int[16];
+        int[] offsets = new int[16];
+        int runs = 0;
+        for (int epochDay = FIRST_DAY; epochDay < END_DAY; epochDay++) {
+            int offset = (int) (epochDay * EpochDays.MILLIS_PER_DAY - EpochDays.toMillis(epochDay, zone));
+            if (runs == 0 || offsets[runs - 1] != offset) {
+                if (runs == startDays.length) {
+                    startDays = Arrays.copyOf(startDays, runs * 2);
+                    offsets = Arrays.copyOf(offsets, runs * 2);
+                }
+                startDays[runs] = epochDay;
+                offsets[runs] = offset;
+                runs++;
+            }
+        }
+        this.startDays = Arrays.copyOf(startDays, runs);
+        this.offsets = Arrays.copyOf(offsets, runs);
+    }
+
+    private ZoneMidnights(TimeZone zone, int[] startDays, int[] offsets) {
+        this.zone = zone;
+        this.startDays = startDays;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Returns the milliseconds since 1970-01-01T00:00:00Z of midnight of the given epoch-day in the time zone of
+     * this table (see {@link EpochDays#toMillis(int, TimeZone)}).
+     * @param epochDay the epoch-day.
+     * @return the milliseconds.
+     */
+    long toMillis(int epochDay) {
+        if (epochDay < FIRST_DAY || epochDay >= END_DAY || startDays.length == 0) {
+            return EpochDays.toMillis(epochDay, zone);
+        }
+        int index = Arrays.binarySearch(startDays, epochDay);
+        return epochDay * EpochDays.MILLIS_PER_DAY - offsets[index >= 0 ? index : -index - 2];
+    }
+}
@@ -0,0 +1,259 @@
+package de.javandry.testutils;
+
+import java.lang.reflect.Method;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-threaded stress harness for the DateBuilder factories, parsing, formatting and conversions and for
+ * DateBuilder and DateValue instances shared between threads.<br/>
+ * <br/>
+ * The expected results of a fixed set of random dates are computed up front on a single thread with fresh JDK
+ * DateFormat and Calendar instances. After a warm-up run, for each configured thread count, that many threads run
+ * random operations on these dates for a fixed time and compare every result with the expected one, so corrupted
+ * thread local formats, caches or shared instances show up as failures. The throughput of each run and its scaling
+ * relative to the first run are reported; the harness exits with status 1 if any result was wrong.<br/>
+ * <br/>
+ * Run with <code>mvn -P stress test-compile exec:exec</code>. The system properties <code>stress.threads</code>
+ * (comma separated thread counts, default <code>1,2,4,8,16</code>), <code>stress.millis</code> (run time per thread
+ * count, default 2000) and <code>stress.virtual</code> (use virtual threads, needs Java 21 or newer) can be
+ * overridden on the maven command line, e.g. <code>-Dstress.threads=1,100,10000 -Dstress.virtual=true</code>.
+ */
+public final class DateBuilderStress {
+
+    private static final int DATES = 4096;
+    private static final int OPERATIONS = 10;
+    private static final int MAX_REPORTED_FAILURES = 20;
+    private static final String ZONE_ID = "America/New_York";
+    private static final String TEXTUAL_FORMAT = "dd-MMM-yyyy";
+
+    private final int[] days = new int[DATES];
+    private final int[] months = new int[DATES];
+    private final int[] years = new int[DATES];
+    private final int[] epochDays = new int[DATES];
+    private final String[] defaultTexts = new String[DATES];
+    private final String[] usTexts = new String[DATES];
+    private final String[] isoTexts = new String[DATES];
+    private final String[] textualTexts = new String[DATES];
+    private final long[] localMidnights = new long[DATES];
+    private final long[] zoneMidnights = new long[DATES];
+
+    /**
+     * Instances read concurrently by all threads. Each builder has been read once after its last modification, so
+     * reading it does not resolve pending fields any more.
+     */
+    private final DateBuilder[] sharedBuilders = new DateBuilder[DATES];
+    private final DateValue[] sharedValues = new DateValue[DATES];
+
+    private final AtomicInteger failureCount = new AtomicInteger();
+    private final Queue<String> failures = new ConcurrentLinkedQueue<String>();
+
+    public static void main(String[] args) throws Exception {
+        int[] threadCounts = parseThreadCounts(System.getProperty("stress.threads", "1,2,4,8,16"));
+        long millis = Long.parseLong(System.getProperty("stress.millis", "2000"));
+        boolean virtual = Boolean.parseBoolean(System.getProperty("stress.virtual", "false"));
+
+        Locale.setDefault(Locale.GERMANY);
+        DateBuilderStress stress = new DateBuilderStress();
+        System.out.println("DateBuilder stress test, " + DATES + " dates, " + millis + " ms per run, "
+                + (virtual ? "virtual" : "platform") + " threads, " + Runtime.getRuntime().availableProcessors()
+                + " processors");
+        stress.run(threadCounts[0], millis, virtual);
+        System.out.println(String.format(Locale.ROOT, "%10s %15s %10s %10s", "threads", "ops/s", "scaling", "failures"));
+        double baseline = 0;
+        for (int threads : threadCounts) {
+            int failuresBefore = stress.failureCount.get();
+            double throughput = stress.run(threads, millis, virtual);
+            if (baseline == 0) {
+                baseline = throughput;
+            }
+            System.out.println(String.format(Locale.ROOT, "%10d %15.0f %9.2fx %10d",
+                    threads, throughput, throughput / baseline, stress.failureCount.get() - failuresBefore));
+        }
+        if (stress.failureCount.get() > 0) {
+            System.out.println(stress.failureCount.get() + " wrong results, the first ones:");
+            for (String failure : stress.failures) {
+                System.out.println("  " + failure);
+            }
+            System.exit(1);
+        }
+    }
+
+    private static int[] parseThreadCounts(String text) {
+        String[] parts = text.split(",");
+        int[] threadCounts = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            threadCounts[i] = Integer.parseInt(parts[i].trim());
+            if (threadCounts[i] <= 0) {
+                throw new IllegalArgumentException("thread count must be positive: " + threadCounts[i]);
+            }
+        }
+        return threadCounts;
+    }
+
+    private DateBuilderStress() {
+        DateFormat defaultFormat = DateFormat.getDateInstance(DateFormat.DEFAULT);
+        DateFormat usFormat = DateFormat.getDateInstance(DateFormat.DEFAULT, Locale.US);
+        DateFormat isoFormat = new SimpleDateFormat("yyyy-MM-dd");
+        DateFormat textualFormat = new SimpleDateFormat(TEXTUAL_FORMAT);
+        Calendar local = new GregorianCalendar();
+        Calendar zone = new GregorianCalendar(TimeZone.getTimeZone(ZONE_ID));
+        int[] randomDays = RandomDates.between(DateValue.givenDate(1, 1, 1900), DateValue.givenDate(31, 12, 2099))
+                .withSeed(42).withEdgeCases(0.2).nextEpochDays(new int[DATES]);
+        for (int i = 0; i < DATES; i++) {
+            DateValue date = DateValue.ofEpochDay(randomDays[i]);
+            days[i] = date.getDay();
+            months[i] = date.getMonth();
+            years[i] = date.getYear();
+            epochDays[i] = randomDays[i];
+            local.clear();
+            local.set(years[i], months[i] - 1, days[i]);
+            localMidnights[i] = local.getTimeInMillis();
+            zone.clear();
+            zone.set(years[i], months[i] - 1, days[i]);
+            zoneMidnights[i] = zone.getTimeInMillis();
+            defaultTexts[i] = defaultFormat.format(local.getTime());
+            usTexts[i] = usFormat.format(local.getTime());
+            isoTexts[i] = isoFormat.format(local.getTime());
+            textualTexts[i] = textualFormat.format(local.getTime());
+            sharedBuilders[i] = DateBuilder.givenDate(1, 1, years[i]).month(months[i]).day(days[i]);
+            sharedBuilders[i].toValue();
+            sharedValues[i] = DateValue.givenDate(days[i], months[i], years[i]);
+        }
+    }
+
+    /**
+     * Runs the operations on the given number of threads for the given time.
+     * @return the number of operations per second.
+     */
+    private double run(int threads, long millis, boolean virtual) throws Exception {
+        ExecutorService executor = virtual ? newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final long duration = TimeUnit.MILLISECONDS.toNanos(millis);
+            List<Future<Long>> results = new ArrayList<Future<Long>>(threads);
+            for (int t = 0; t < threads; t++) {
+                final long seed = t;
+                results.add(executor.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws Exception {
+                        start.await();
+                        return hammer(new SplittableRandom(seed), System.nanoTime() + duration);
+                    }
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            long operations = 0;
+            for (Future<Long> result : results) {
+                operations += result.get();
+            }
+            return operations * 1e9 / (System.nanoTime() - begin);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("virtual threads need Java 21 or newer");
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private long hammer(SplittableRandom random, long deadline) {
+        long operations = 0;
+        StringBuilder buffer = new StringBuilder(32);
+        while ((operations & 0xFF) != 0 || System.nanoTime() < deadline) {
+            int i = random.nextInt(DATES);
+            int operation = random.nextInt(OPERATIONS);
+            try {
+                check(operation, i, buffer);
+            } catch (RuntimeException e) {
+                fail(operation, i, e.toString());
+            }
+            operations++;
+        }
+        return operations;
+    }
+
+    private void check(int operation, int i, StringBuilder buffer) {
+        switch (operation) {
+            case 0:
+                expect(operation, i, epochDays[i], DateBuilder.parse(defaultTexts[i]).toEpochDay());
+                break;
+            case 1:
+                expect(operation, i, epochDays[i], DateBuilder.parse(usTexts[i], Locale.US).toEpochDay());
+                break;
+            case 2:
+                expect(operation, i, epochDays[i], DateBuilder.parse(isoTexts[i], "yyyy-MM-dd").toEpochDay());
+                break;
+            case 3:
+                expect(operation, i, epochDays[i], DateBuilder.tryParse(textualTexts[i], TEXTUAL_FORMAT).toEpochDay());
+                break;
+            case 4:
+                expect(operation, i, defaultTexts[i], DateBuilder.givenDate(days[i], months[i], years[i]).toString());
+                break;
+            case 5:
+                buffer.setLength(0);
+                expect(operation, i, textualTexts[i], sharedValues[i].formatTo(buffer, TEXTUAL_FORMAT).toString());
+                break;
+            case 6:
+                expect(operation, i, localMidnights[i],
+                        DateBuilder.givenDate(days[i], months[i], years[i]).toDate().getTime());
+                break;
+            case 7:
+                expect(operation, i, zoneMidnights[i], sharedValues[i].toEpochMillis(ZONE_ID));
+                break;
+            case 8: {
+                DateBuilder shared = sharedBuilders[i];
+                expect(operation, i, days[i], shared.getDay());
+                expect(operation, i, months[i], shared.getMonth());
+                expect(operation, i, years[i], shared.getYear());
+                expect(operation, i, defaultTexts[i], shared.toString());
+                expect(operation, i, sharedValues[i].hashCode(), shared.hashCode());
+                break;
+            }
+            default:
+                expect(operation, i, sharedValues[i], DateValue.givenDate(days[i], months[i], years[i]));
+                expect(operation, i, sharedBuilders[i], sharedBuilders[i].copy());
+                if (days[i] <= 28) {
+                    expect(operation, i, sharedValues[i],
+                            sharedBuilders[i].derive(1, DateUnit.MONTHS).monthsAgo(1).toValue());
+                }
+                break;
+        }
+    }
+
+    private void expect(int operation, int i, Object expected, Object actual) {
+        if (!expected.equals(actual)) {
+            fail(operation, i, "expected <" + expected + "> but was <" + actual + ">");
+        }
+    }
+
+    private void fail(int operation, int i, String message) {
+        if (failureCount.incrementAndGet() <= MAX_REPORTED_FAILURES) {
+            failures.add("operation " + operation + ", date " + isoTexts[i] + ": " + message);
+        }
+    }
+}
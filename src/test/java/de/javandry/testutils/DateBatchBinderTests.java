@@ -0,0 +1,118 @@
+package de.javandry.testutils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.javandry.testutils.DateValue.givenDate;
+import static org.junit.Assert.*;
+
+public class DateBatchBinderTests {
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        Statement statement = connection.createStatement();
+        statement.execute("CREATE TABLE BOOKING (ACCOUNT INT, BOOKING_DATE DATE)");
+        statement.close();
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void testBindAllRange() throws SQLException {
+        PreparedStatement insert = connection.prepareStatement("INSERT INTO BOOKING (ACCOUNT, BOOKING_DATE) VALUES (?, ?)");
+        insert.setInt(1, 4711);
+
+        int rows = DateBatchBinder.into(insert).parameter(2).chunkSize(100)
+                .bindAll(DateRange.between(givenDate(1, 1, 2012), givenDate(31, 12, 2012)));
+
+        assertEquals(366, rows);
+        ResultSet result = connection.createStatement().executeQuery(
+                "SELECT COUNT(*), MIN(BOOKING_DATE), MAX(BOOKING_DATE), COUNT(DISTINCT BOOKING_DATE), MIN(ACCOUNT) FROM BOOKING");
+        assertTrue(result.next());
+        assertEquals(366, result.getInt(1));
+        assertEquals(givenDate(1, 1, 2012).toSqlDate(), result.getDate(2));
+        assertEquals(givenDate(31, 12, 2012).toSqlDate(), result.getDate(3));
+        assertEquals(366, result.getInt(4));
+        assertEquals(4711, result.getInt(5));
+    }
+
+    @Test
+    public void testBindAllValues() throws SQLException {
+        PreparedStatement insert = connection.prepareStatement("INSERT INTO BOOKING (BOOKING_DATE) VALUES (?)");
+
+        int rows = DateBatchBinder.into(insert).bindAll(Arrays.asList(givenDate(14, 12, 1972), givenDate(29, 2, 2012)));
+
+        assertEquals(2, rows);
+        ResultSet result = connection.createStatement().executeQuery("SELECT BOOKING_DATE FROM BOOKING ORDER BY 1");
+        assertTrue(result.next());
+        assertEquals(DateValue.valueOf(result.getDate(1)), givenDate(14, 12, 1972));
+        assertTrue(result.next());
+        assertEquals(DateValue.valueOf(result.getDate(1)), givenDate(29, 2, 2012));
+        assertFalse(result.next());
+    }
+
+    @Test
+    public void testChunks() throws SQLException {
+        final AtomicInteger batches = new AtomicInteger();
+        final PreparedStatement insert = connection.prepareStatement("INSERT INTO BOOKING (BOOKING_DATE) VALUES (?)");
+        PreparedStatement countingInsert = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (method.getName().equals("executeBatch")) {
+                            batches.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(insert, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+        DateSequence dates = DateSequence.of(DateRange.between(givenDate(1, 1, 2012), givenDate(10, 1, 2012)));
+
+        assertEquals(10, DateBatchBinder.into(countingInsert).chunkSize(4).bindAll(dates));
+        assertEquals(3, batches.get());
+
+        batches.set(0);
+        assertEquals(10, DateBatchBinder.into(countingInsert).chunkSize(5).bindAll(dates));
+        assertEquals(2, batches.get());
+    }
+
+    @Test
+    public void testSqlException() throws SQLException {
+        PreparedStatement insert = connection.prepareStatement("INSERT INTO BOOKING (BOOKING_DATE) VALUES (?)");
+
+        try {
+            DateBatchBinder.into(insert).parameter(2).bindAll(Arrays.asList(givenDate(14, 12, 1972)));
+            fail();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof SQLException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChunkSize() throws SQLException {
+        DateBatchBinder.into(connection.prepareStatement("INSERT INTO BOOKING (BOOKING_DATE) VALUES (?)")).chunkSize(0);
+    }
+}
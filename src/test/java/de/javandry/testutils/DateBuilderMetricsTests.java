@@ -0,0 +1,142 @@
+package de.javandry.testutils;
+
+import de.javandry.testutils.DateBuilderMetrics.Counter;
+import de.javandry.testutils.DateBuilderMetrics.Snapshot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class DateBuilderMetricsTests {
+
+    private Locale defaultLocale;
+
+    @Before
+    public void setUp() {
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        DateFormats.clear();
+        DateBuilderMetrics.enable();
+    }
+
+    @After
+    public void tearDown() {
+        DateBuilderMetrics.disable();
+        DateFormats.clear();
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void testFactoryCalls() {
+        Snapshot before = DateBuilderMetrics.snapshot();
+
+        DateBuilder.today();
+        DateBuilder.givenDate(14, 12, 1972);
+        DateBuilder.givenDate(15, 12, 1972);
+        DateBuilder.valueOf(new Date());
+        DateBuilder.parse("14.12.1972");
+        DateBuilder.parse("Dec 14, 1972", Locale.US);
+        DateBuilder.parse("14.12.1972", "dd.MM.yyyy");
+        DateBuilder.tryParse("14.12.1972");
+        DateBuilder.tryParse("14.12.1972", "dd.MM.yyyy");
+
+        Snapshot counted = DateBuilderMetrics.snapshot().minus(before);
+        assertEquals(1, counted.get(Counter.TODAY));
+        assertEquals(2, counted.get(Counter.GIVEN_DATE));
+        assertEquals(1, counted.get(Counter.VALUE_OF));
+        assertEquals(1, counted.get(Counter.PARSE));
+        assertEquals(1, counted.get(Counter.PARSE_WITH_LOCALE));
+        assertEquals(1, counted.get(Counter.PARSE_WITH_FORMAT));
+        assertEquals(2, counted.get(Counter.TRY_PARSE));
+        assertEquals(4, counted.get(Counter.PARSE_FAST_PATH));
+        assertEquals(0, counted.get(Counter.PARSE_FAILURE));
+    }
+
+    @Test
+    public void testParseFailuresAndFormatterCache() {
+        DateBuilder.tryParse("14-Mai-1972", "dd-MMM-yyyy");
+        DateBuilder.tryParse("no date");
+        Snapshot before = DateBuilderMetrics.snapshot();
+
+        assertNull(DateBuilder.tryParse("no date", "dd-MMM-yyyy"));
+        try {
+            DateBuilder.parse("no date");
+            fail();
+        } catch (RuntimeException e) {
+            // expected
+        }
+        DateBuilder.parse("14-Mai-1972", "dd-MMM-yyyy");
+
+        Snapshot counted = DateBuilderMetrics.snapshot().minus(before);
+        assertEquals(2, counted.get(Counter.PARSE_FAILURE));
+        assertEquals(0, counted.get(Counter.PARSE_FAST_PATH));
+        assertEquals(3, counted.get(Counter.FORMATTER_CACHE_HIT));
+        assertEquals(0, counted.get(Counter.FORMATTER_CACHE_MISS));
+        assertEquals(0, counted.get(Counter.FORMATTER_CREATED));
+    }
+
+    @Test
+    public void testFormatGermanDefaultLocaleWithoutDateFormat() {
+        DateBuilder date = DateBuilder.givenDate(14, 12, 1972);
+        date.toString();
+        Snapshot before = DateBuilderMetrics.snapshot();
+
+        assertEquals("14.12.1972", date.toString());
+        assertEquals("14.12.1972", date.formatTo(new StringBuilder()).toString());
+        assertEquals("14.12.1972", DateValue.givenDate(14, 12, 1972).toString());
+
+        Snapshot counted = DateBuilderMetrics.snapshot().minus(before);
+        assertEquals(0, counted.get(Counter.FORMATTER_CACHE_HIT));
+        assertEquals(0, counted.get(Counter.FORMATTER_CACHE_MISS));
+    }
+
+    @Test
+    public void testDisabled() {
+        DateBuilderMetrics.disable();
+        Snapshot before = DateBuilderMetrics.snapshot();
+
+        DateBuilder.givenDate(14, 12, 1972);
+
+        assertFalse(DateBuilderMetrics.isEnabled());
+        assertEquals(0, DateBuilderMetrics.snapshot().minus(before).get(Counter.GIVEN_DATE));
+    }
+
+    @Test
+    public void testReset() {
+        DateBuilder.givenDate(14, 12, 1972);
+
+        DateBuilderMetrics.reset();
+
+        assertEquals(0, DateBuilderMetrics.snapshot().get(Counter.GIVEN_DATE));
+        assertEquals(Long.valueOf(0), DateBuilderMetrics.snapshot().toMap().get(Counter.TODAY));
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        DateBuilderMetrics.registerMBean();
+        DateBuilderMetrics.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(DateBuilderMetricsMXBean.OBJECT_NAME);
+        DateBuilderMetrics.reset();
+
+        DateBuilder.givenDate(14, 12, 1972);
+        DateBuilder.givenDate(15, 12, 1972);
+
+        assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+        TabularData counters = (TabularData) server.getAttribute(name, "Counters");
+        CompositeData givenDate = counters.get(new Object[]{"GIVEN_DATE"});
+        assertEquals(2L, givenDate.get("value"));
+
+        server.invoke(name, "reset", new Object[0], new String[0]);
+        assertEquals(0, DateBuilderMetrics.snapshot().get(Counter.GIVEN_DATE));
+    }
+}
@@ -3,15 +3,37 @@ package de.javandry.testutils;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeSet;
 
 import static org.junit.Assert.*;
 
 public class DateBuilderTests {
 
+    /**
+     * Locale whose default date format is "14 Dec 1972" in both the CLDR and the JRE locale data.
+     */
+    private static final Locale SOUTH_AFRICA = new Locale("en", "ZA");
+
+    /**
+     * Locale whose default date pattern is yyyy-MM-dd in both the CLDR and the JRE locale data (the german pattern
+     * writes years below 1000 with four digits in the JRE data but not in the CLDR data).
+     */
+    private static final Locale FIXED_WIDTH_LOCALE = new Locale("sr", "BA");
+
     private Calendar calendar;
 
     @Before
@@ -33,6 +55,13 @@ public class DateBuilderTests {
         assertEquals(1972, givenDate.getYear());
     }
 
+    @Test
+    public void testGivenDateIsIndependentOfCurrentDate() {
+        assertEquals(DateBuilder.givenDate( 1,  3, 2012), DateBuilder.givenDate(29,  2, 2012).nextDay());
+        assertEquals(29, DateBuilder.givenDate(29,  2, 2012).getDay());
+        assertEquals(DateBuilder.givenDate( 2,  3, 2012), DateBuilder.givenDate(31,  2, 2012));
+    }
+
     @Test
     public void testValueOfUtilDate() {
         java.util.Date utilDate = calendar.getTime();
@@ -51,8 +80,8 @@ public class DateBuilderTests {
         assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.parse("14.12.1972"));
         Locale.setDefault(Locale.US);
         assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.parse("Dec 14, 1972"));
-        Locale.setDefault(Locale.UK);
-        assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.parse("14-Dec-1972"));
+        Locale.setDefault(SOUTH_AFRICA);
+        assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.parse("14 Dec 1972"));
     }
 
     @Test
@@ -60,7 +89,7 @@ public class DateBuilderTests {
         Locale.setDefault(Locale.CHINESE);
         assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.parse("14.12.1972", Locale.GERMANY));
         assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.parse("Dec 14, 1972", Locale.US));
-        assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.parse("14-Dec-1972", Locale.UK));
+        assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.parse("14 Dec 1972", SOUTH_AFRICA));
     }
 
     @Test
@@ -71,6 +100,30 @@ public class DateBuilderTests {
         assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.parse("14-Dec-1972", "dd-MMM-yyyy"));
     }
 
+    @Test
+    public void testParseStringWithGivenFormatFallsBackToSimpleDateFormat() {
+        Locale.setDefault(Locale.GERMANY);
+        assertEquals(DateBuilder.givenDate( 1,  2, 1972), DateBuilder.parse("1.2.1972", "dd.MM.yyyy"));
+        assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.parse("14.12.1972 trailing", "dd.MM.yyyy"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testParseStringWithGivenFormatFails() {
+        DateBuilder.parse("14/12/1972", "dd.MM.yyyy");
+    }
+
+    @Test
+    public void testTryParse() {
+        Locale.setDefault(Locale.GERMANY);
+        assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.tryParse("14.12.1972"));
+        assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.tryParse("Dec 14, 1972", Locale.US));
+        assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.tryParse("1972-12-14", "yyyy-MM-dd"));
+        assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.tryParse("id=1972-12-14;", 3, 13, "yyyy-MM-dd"));
+        assertNull(DateBuilder.tryParse("foo"));
+        assertNull(DateBuilder.tryParse("14.12.1972", Locale.US));
+        assertNull(DateBuilder.tryParse("14/12/1972", "yyyy-MM-dd"));
+    }
+
     @Test
     public void testDaysAgo() {
         Locale.setDefault(Locale.GERMANY);
@@ -125,6 +178,201 @@ public class DateBuilderTests {
         assertEquals(DateBuilder.givenDate(29,  2, 2012), DateBuilder.givenDate(11,  2, 2012).lastDay());
     }
 
+    @Test
+    public void testWeeksAndQuarters() {
+        assertEquals(50, DateBuilder.givenDate(14, 12, 2012).getIsoWeek());
+        assertEquals(2013, DateBuilder.givenDate(31, 12, 2012).getIsoWeekYear());
+        assertEquals(DateBuilder.givenDate( 4,  1, 2013), DateBuilder.givenDate(14, 12, 2012).weeksAhead(3));
+        assertEquals(DateBuilder.givenDate(10, 12, 2012), DateBuilder.givenDate(14, 12, 2012).firstDayOfWeek());
+        assertEquals(DateBuilder.givenDate( 6,  1, 2013), DateBuilder.givenDate(31, 12, 2012).lastDayOfWeek());
+        assertEquals(DateBuilder.givenDate( 5,  1, 2012), DateBuilder.givenDate(27, 12, 2012).isoWeek(1));
+        assertEquals(4, DateBuilder.givenDate(14, 12, 2012).getQuarter());
+        assertEquals(DateBuilder.givenDate( 1,  1, 2012), DateBuilder.givenDate(31, 3, 2012).firstDayOfQuarter());
+        assertEquals(DateBuilder.givenDate(30,  9, 2012), DateBuilder.givenDate(31, 8, 2012).lastDayOfQuarter());
+        assertEquals(DateBuilder.givenDate(31, 12, 2012), DateBuilder.givenDate(14, 12, 2012).month(11).lastDayOfQuarter());
+        FiscalCalendar fiscal = FiscalCalendar.fourFourFive();
+        assertEquals(2013, DateBuilder.givenDate(30, 12, 2012).getFiscalYear(fiscal));
+        assertEquals(12, DateBuilder.givenDate(14, 12, 2012).getFiscalPeriod(fiscal));
+        assertEquals(DateBuilder.givenDate(25, 11, 2012), DateBuilder.givenDate(14, 12, 2012).firstDayOfFiscalPeriod(fiscal));
+        assertEquals(DateBuilder.givenDate(29, 12, 2012), DateBuilder.givenDate(14, 12, 2012).lastDayOfFiscalPeriod(fiscal));
+    }
+
+    @Test
+    public void testDifferences() {
+        DateBuilder date = DateBuilder.givenDate(31, 1, 2012);
+
+        assertEquals(29, date.daysBetween(DateBuilder.givenDate(29, 2, 2012)));
+        assertEquals(-31, date.daysBetween(DateBuilder.givenDate(31, 12, 2011)));
+        assertEquals(1, date.monthsBetween(DateBuilder.givenDate(29, 2, 2012)));
+        assertEquals(0, date.monthsBetween(DateBuilder.givenDate(28, 2, 2012)));
+        assertEquals(-13, date.monthsBetween(DateBuilder.givenDate(31, 12, 2010)));
+        assertEquals(1, DateBuilder.givenDate(29, 2, 2012).yearsBetween(DateBuilder.givenDate(28, 2, 2013)));
+        assertEquals(0, DateBuilder.givenDate(14, 12, 2012).yearsBetween(DateBuilder.givenDate(13, 12, 2013)));
+        assertEquals(-40, DateBuilder.givenDate(14, 12, 2012).yearsBetween(DateBuilder.givenDate(14, 12, 1972)));
+        assertEquals("P1Y1M", date.periodBetween(DateBuilder.givenDate(28, 2, 2013)).toString());
+        assertEquals("P-1M-30D", date.periodBetween(DateBuilder.givenDate(1, 12, 2011)).toString());
+    }
+
+    @Test
+    public void testPeriodBetweenRoundTrip() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            DateBuilder from = DateBuilder.givenDate(1, 1, 2000).daysAhead(random.nextInt(5000));
+            DateBuilder to = DateBuilder.givenDate(1, 1, 2000).daysAhead(random.nextInt(5000));
+
+            DatePeriod period = from.periodBetween(to);
+
+            DateBuilder moved = DateBuilder.givenDate(from.getDay(), from.getMonth(), from.getYear())
+                    .monthsAhead(period.toTotalMonths()).daysAhead(period.getDays());
+            assertEquals(to, moved);
+            assertEquals(from.monthsBetween(to), period.toTotalMonths());
+        }
+    }
+
+    @Test
+    public void testBulkDifferences() {
+        int[] from = {EpochDays.of(2012, 1, 31), EpochDays.of(2012, 12, 14), EpochDays.of(2012, 2, 29)};
+        int[] to = {EpochDays.of(2012, 2, 29), EpochDays.of(1972, 12, 14), EpochDays.of(2013, 2, 28)};
+
+        assertArrayEquals(new int[]{29, -14610, 365}, DateBuilder.daysBetween(from, to, new int[3]));
+        assertArrayEquals(new int[]{1, -480, 12}, DateBuilder.monthsBetween(from, to, new int[3]));
+        assertArrayEquals(new int[]{0, -40, 1}, DateBuilder.yearsBetween(from, to, from));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBulkDifferencesRejectDifferentLengths() {
+        DateBuilder.daysBetween(new int[2], new int[3], new int[2]);
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        DateBuilder base = DateBuilder.givenDate(31, 1, 2012).month(2);
+
+        DateBuilder copy = base.copy();
+        copy.nextMonth();
+
+        assertEquals(DateBuilder.givenDate(2, 3, 2012), base);
+        assertEquals(DateBuilder.givenDate(2, 4, 2012), copy);
+        assertEquals(DateBuilder.givenDate(2, 3, 2012), base.copy());
+    }
+
+    @Test
+    public void testDerive() {
+        DateBuilder base = DateBuilder.givenDate(15, 5, 2012);
+
+        assertEquals(DateBuilder.givenDate(15, 7, 2012), base.derive(2, DateUnit.MONTHS));
+        assertEquals(DateBuilder.givenDate(1, 5, 2012), base.derive(-2, DateUnit.WEEKS));
+        assertEquals(DateBuilder.givenDate(15, 5, 2013), base.derive(1, DateUnit.YEARS));
+        assertEquals(DateBuilder.givenDate(15, 5, 2012), base);
+    }
+
+    @Test
+    public void testDeriveAll() {
+        DateBuilder base = DateBuilder.givenDate(31, 1, 2012);
+
+        DateValue[] dates = base.deriveAll(DateUnit.MONTHS, 1, 2, 3, -2);
+
+        assertArrayEquals(new DateValue[]{
+                DateValue.givenDate(29, 2, 2012),
+                DateValue.givenDate(31, 3, 2012),
+                DateValue.givenDate(30, 4, 2012),
+                DateValue.givenDate(30, 11, 2011)}, dates);
+        int[] offsets = {0, 1, 7};
+        assertArrayEquals(new int[]{EpochDays.of(2012, 1, 31), EpochDays.of(2012, 2, 1), EpochDays.of(2012, 2, 7)},
+                base.deriveAll(DateUnit.DAYS, offsets, offsets));
+        assertEquals(DateBuilder.givenDate(31, 1, 2012), base);
+    }
+
+    @Test
+    public void testFusedChains() {
+        assertEquals(DateBuilder.givenDate(1, 1, 2011), DateBuilder.givenDate(14, 12, 2012).yearsAgo(1).firstMonth().firstDay());
+        assertEquals(DateBuilder.givenDate(29, 3, 2012), DateBuilder.givenDate(31, 1, 2012).nextMonth().nextMonth());
+        assertEquals(DateBuilder.givenDate(31, 3, 2012), DateBuilder.givenDate(31, 1, 2012).monthsAhead(2));
+        assertEquals(DateBuilder.givenDate(28, 2, 2013), DateBuilder.givenDate(29, 2, 2012).nextYear());
+        assertEquals(DateBuilder.givenDate(31, 3, 2012), DateBuilder.givenDate(31, 1, 2012).day(31).month(3));
+        assertEquals(DateBuilder.givenDate(29, 3, 2012), DateBuilder.givenDate(15, 1, 2012).day(31).nextMonth().nextMonth());
+        assertEquals(DateBuilder.givenDate(15, 1, 2012), DateBuilder.givenDate(15, 1, 2012).month(13).daysAhead(0).year(2011));
+        assertEquals(DateBuilder.givenDate(30, 4, 2012), DateBuilder.givenDate(15, 1, 2012).month(4).lastDay());
+
+        DateBuilder date = DateBuilder.givenDate(31, 1, 2012).nextMonth();
+        assertEquals(29, date.getDay());
+        assertEquals(2, date.getMonth());
+        assertEquals(2012, date.getYear());
+    }
+
+    @Test
+    public void testFusedChainsMatchLenientCalendar() {
+        Random random = new Random(4711);
+        for (int i = 0; i < 20000; i++) {
+            DateBuilder date = DateBuilder.givenDate(1, 1, 2000).daysAhead(random.nextInt(3650));
+            GregorianCalendar expected = new GregorianCalendar();
+            expected.setGregorianChange(new Date(Long.MIN_VALUE));
+            expected.clear();
+            expected.set(date.getYear(), date.getMonth() - 1, date.getDay());
+            StringBuilder chain = new StringBuilder();
+            for (int step = 0; step < 6; step++) {
+                int amount = random.nextInt(40) - 5;
+                switch (random.nextInt(7)) {
+                    case 0:
+                        chain.append(".daysAhead(").append(amount).append(')');
+                        date.daysAhead(amount);
+                        expected.add(Calendar.DAY_OF_MONTH, amount);
+                        break;
+                    case 1:
+                        chain.append(".monthsAhead(").append(amount).append(')');
+                        date.monthsAhead(amount);
+                        expected.add(Calendar.MONTH, amount);
+                        break;
+                    case 2:
+                        chain.append(".yearsAgo(").append(amount).append(')');
+                        date.yearsAgo(amount);
+                        expected.add(Calendar.YEAR, -amount);
+                        break;
+                    case 3:
+                        chain.append(".day(").append(amount).append(')');
+                        date.day(amount);
+                        expected.set(Calendar.DAY_OF_MONTH, amount);
+                        break;
+                    case 4:
+                        chain.append(".month(").append(amount % 15).append(')');
+                        date.month(amount % 15);
+                        expected.set(Calendar.MONTH, amount % 15 - 1);
+                        break;
+                    case 5:
+                        chain.append(".year(").append(1990 + amount).append(')');
+                        date.year(1990 + amount);
+                        expected.set(Calendar.YEAR, 1990 + amount);
+                        break;
+                    default:
+                        chain.append(".lastDay()");
+                        date.lastDay();
+                        expected.add(Calendar.MONTH, 1);
+                        expected.set(Calendar.DAY_OF_MONTH, 1);
+                        expected.add(Calendar.DAY_OF_MONTH, -1);
+                        break;
+                }
+            }
+            assertEquals(chain.toString(), expected.get(Calendar.DAY_OF_MONTH), date.getDay());
+            assertEquals(chain.toString(), expected.get(Calendar.MONTH) + 1, date.getMonth());
+            assertEquals(chain.toString(), expected.get(Calendar.YEAR), date.getYear());
+        }
+    }
+
+    @Test
+    public void testDayAndMonthAreNormalizedTogether() {
+        assertEquals(DateBuilder.givenDate(29,  2, 2012), DateBuilder.givenDate(31,  1, 2011).day(29).month(2).year(2012));
+        assertEquals(DateBuilder.givenDate(30, 11, 1972), DateBuilder.givenDate(14, 12, 1972).day(0));
+        assertEquals(DateBuilder.givenDate(14, 12, 1971), DateBuilder.givenDate(14, 12, 1972).month(0));
+    }
+
+    @Test
+    public void testMonthsAheadPinsToLastDayOfMonth() {
+        assertEquals(DateBuilder.givenDate(29,  2, 2012), DateBuilder.givenDate(31,  1, 2012).monthsAhead(1));
+        assertEquals(DateBuilder.givenDate(30,  4, 1972), DateBuilder.givenDate(31,  3, 1972).nextMonth());
+        assertEquals(DateBuilder.givenDate(28,  2, 2013), DateBuilder.givenDate(29,  2, 2012).nextYear());
+        assertEquals(DateBuilder.givenDate(30, 11, 1972), DateBuilder.givenDate(31,  1, 1973).monthsAgo(2));
+    }
+
     @Test
     public void testMonthsAgo() {
         assertEquals(DateBuilder.givenDate(14, 11, 1972), DateBuilder.givenDate(14, 12, 1972).monthsAgo(1));
@@ -221,6 +469,46 @@ public class DateBuilderTests {
         assertFalse(givenDate.equals(DateBuilder.givenDate(13, 12, 1972)));
     }
 
+    @Test
+    public void testEqualsIgnoresTimeZone() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            DateBuilder tokyoDate = DateBuilder.givenDate(14, 12, 1972);
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            DateBuilder newYorkDate = DateBuilder.givenDate(14, 12, 1972);
+
+            assertEquals(tokyoDate, newYorkDate);
+            assertEquals(tokyoDate.hashCode(), newYorkDate.hashCode());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    public void testHashCode() {
+        Set<Integer> hashCodes = new HashSet<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            hashCodes.add(DateBuilder.givenDate(1, 1, 2000).daysAhead(i).hashCode() & 0xFF);
+        }
+
+        assertEquals(DateBuilder.givenDate(14, 12, 1972).hashCode(), DateBuilder.parse("14.12.1972", "dd.MM.yyyy").hashCode());
+        assertTrue(hashCodes.size() > 240);
+    }
+
+    @Test
+    public void testCompareTo() {
+        DateBuilder givenDate = DateBuilder.givenDate(14, 12, 1972);
+
+        assertEquals(0, givenDate.compareTo(DateBuilder.givenDate(14, 12, 1972)));
+        assertTrue(givenDate.compareTo(DateBuilder.givenDate(15, 12, 1972)) < 0);
+        assertTrue(givenDate.compareTo(DateBuilder.givenDate(13, 12, 1972)) > 0);
+        assertTrue(givenDate.compareTo(DateBuilder.givenDate(14, 12, 1971)) > 0);
+        assertEquals(Arrays.asList(DateBuilder.givenDate(1, 1, 1900), givenDate, DateBuilder.givenDate(1, 1, 2000)),
+                new ArrayList<DateBuilder>(new TreeSet<DateBuilder>(Arrays.asList(
+                        DateBuilder.givenDate(1, 1, 2000), givenDate, DateBuilder.givenDate(1, 1, 1900)))));
+    }
+
     @Test
     public void testToUtilDate() {
         DateBuilder dateBuilder = DateBuilder.givenDate(14, 12, 1972);
@@ -246,14 +534,106 @@ public class DateBuilderTests {
         assertNoTime(sqlDateCalendar);
     }
 
+    @Test
+    public void testToEpochDay() {
+        assertEquals(0, DateBuilder.givenDate(1, 1, 1970).toEpochDay());
+        assertEquals(1078, DateBuilder.givenDate(14, 12, 1972).toEpochDay());
+        assertEquals(-1, DateBuilder.givenDate(31, 12, 1969).toEpochDay());
+    }
+
+    @Test
+    public void testToEpochMillis() {
+        assertEquals(1078 * 24L * 60 * 60 * 1000, DateBuilder.givenDate(14, 12, 1972).toEpochMillis(TimeZone.getTimeZone("UTC")));
+        assertEquals(1078 * 24L * 60 * 60 * 1000 - 60 * 60 * 1000,
+                DateBuilder.givenDate(14, 12, 1972).toEpochMillis(TimeZone.getTimeZone("Europe/Berlin")));
+        assertEquals(DateBuilder.givenDate(14, 12, 1972).toDate().getTime(),
+                DateBuilder.givenDate(14, 12, 1972).toEpochMillis(TimeZone.getDefault()));
+    }
+
+    @Test
+    public void testZoneAwareConversions() {
+        DateBuilder date = DateBuilder.givenDate(14, 12, 1972);
+
+        assertEquals(1078 * 24L * 60 * 60 * 1000 + 5 * 60 * 60 * 1000, date.toDate(TimeZone.getTimeZone("America/New_York")).getTime());
+        assertEquals(1078 * 24L * 60 * 60 * 1000 - 9 * 60 * 60 * 1000, date.toEpochMillis("Asia/Tokyo"));
+        assertEquals(date.toEpochMillis(TimeZone.getTimeZone("Europe/Berlin")), date.toEpochMillis("Europe/Berlin"));
+        assertEquals(DateBuilder.givenDate(29, 3, 2012).toDate(), DateBuilder.givenDate(29, 3, 2012).toDate(TimeZone.getDefault()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testToEpochMillisUnknownZone() {
+        DateBuilder.givenDate(14, 12, 1972).toEpochMillis("Europe/Nowhere");
+    }
+
+    @Test
+    public void testWriteTo() {
+        java.sql.Date sqlDate = new java.sql.Date(0);
+
+        assertSame(sqlDate, DateBuilder.givenDate(14, 12, 1972).writeTo(sqlDate));
+        assertEquals(DateBuilder.givenDate(14, 12, 1972).toSqlDate(), sqlDate);
+        assertEquals(DateBuilder.givenDate(29, 2, 2012).toDate(), DateBuilder.givenDate(29, 2, 2012).writeTo(new Date()));
+    }
+
     @Test
     public void testToString() {
         Locale.setDefault(Locale.GERMANY);
         assertEquals(DateBuilder.givenDate(14, 12, 1972).toString(), "14.12.1972");
         Locale.setDefault(Locale.US);
         assertEquals(DateBuilder.givenDate(14, 12, 1972).toString(), "Dec 14, 1972");
-        Locale.setDefault(Locale.UK);
-        assertEquals(DateBuilder.givenDate(14, 12, 1972).toString(), "14-Dec-1972");
+        Locale.setDefault(SOUTH_AFRICA);
+        assertEquals(DateBuilder.givenDate(14, 12, 1972).toString(), "14 Dec 1972");
+    }
+
+    @Test
+    public void testFormatTo() {
+        Locale.setDefault(Locale.GERMANY);
+        assertEquals("14.12.1972", DateBuilder.givenDate(14, 12, 1972).formatTo(new StringBuilder()).toString());
+        Locale.setDefault(FIXED_WIDTH_LOCALE);
+        assertEquals("date: 0033-02-01", DateBuilder.givenDate(1, 2, 33).formatTo(new StringBuilder("date: ")).toString());
+        Locale.setDefault(Locale.US);
+        assertEquals("Dec 14, 1972", DateBuilder.givenDate(14, 12, 1972).formatTo(new StringBuilder()).toString());
+    }
+
+    @Test
+    public void testFormatToWithGivenFormat() {
+        Locale.setDefault(Locale.US);
+        assertEquals("1972-12-14", DateBuilder.givenDate(14, 12, 1972).formatTo(new StringBuilder(), "yyyy-MM-dd").toString());
+        assertEquals("14.12.1972", DateBuilder.givenDate(14, 12, 1972).formatTo(new StringBuffer(), "dd.MM.yyyy").toString());
+        assertEquals("Dec 14, 1972", DateBuilder.givenDate(14, 12, 1972).formatTo(new StringBuilder(), "MMM dd, yyyy").toString());
+        assertEquals("14.12.12345", DateBuilder.givenDate(14, 12, 12345).formatTo(new StringBuilder(), "dd.MM.yyyy").toString());
+    }
+
+    @Test
+    public void testDateArithmeticDoesNotLoadTextClasses() throws Exception {
+        Process process = new ProcessBuilder(
+                new File(System.getProperty("java.home"), "bin/java").getPath(),
+                "-verbose:class",
+                "-cp", System.getProperty("java.class.path"),
+                StartupProbe.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        List<String> unexpectedClasses = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), "UTF-8"));
+        String line;
+        boolean probeRun = false;
+        while ((line = reader.readLine()) != null) {
+            if (line.contains("java.text.") || line.contains("javax.management.")
+                    || line.contains("java.util.concurrent.atomic.LongAdder")) {
+                unexpectedClasses.add(line);
+            }
+            probeRun |= line.equals("15686");
+        }
+
+        assertEquals(0, process.waitFor());
+        assertTrue(probeRun);
+        assertEquals(new ArrayList<String>(), unexpectedClasses);
+    }
+
+    public static class StartupProbe {
+
+        public static void main(String[] args) {
+            System.out.println(DateBuilder.givenDate(14, 12, 2012).daysAgo(2).toEpochDay());
+        }
     }
 
     private void assertEqualsCalendar(Calendar cal, DateBuilder today) {
@@ -0,0 +1,89 @@
+package de.javandry.testutils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class DateClockTests {
+
+    @After
+    public void tearDown() {
+        DateClock.setDefault(null);
+    }
+
+    @Test
+    public void testSystemClock() {
+        Calendar calendar = GregorianCalendar.getInstance();
+        DateValue today = DateClock.system().today();
+
+        assertEquals(calendar.get(Calendar.DAY_OF_MONTH), today.getDay());
+        assertEquals(calendar.get(Calendar.MONTH) + 1, today.getMonth());
+        assertEquals(calendar.get(Calendar.YEAR), today.getYear());
+    }
+
+    @Test
+    public void testSystemClockRollsOverAtMidnight() {
+        long midnight = DateValue.givenDate(15, 12, 1972).toDate().getTime();
+        AtomicLong now = new AtomicLong(midnight - 1);
+        DateClock clock = new DateClock.SystemClock(now::get);
+
+        assertEquals(DateValue.givenDate(14, 12, 1972), clock.today());
+        assertSame(clock.today(), clock.today());
+        now.set(midnight);
+        assertEquals(DateValue.givenDate(15, 12, 1972), clock.today());
+        now.set(midnight - 1);
+        assertEquals(DateValue.givenDate(14, 12, 1972), clock.today());
+        now.set(midnight + 400L * 24 * 60 * 60 * 1000);
+        assertEquals(DateValue.givenDate(19, 1, 1974), clock.today());
+    }
+
+    @Test
+    public void testSystemClockFollowsDefaultTimeZone() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+            long berlinMidnight = DateValue.givenDate(15, 12, 1972).toDate().getTime();
+            DateClock clock = new DateClock.SystemClock(() -> berlinMidnight);
+
+            assertEquals(DateValue.givenDate(15, 12, 1972), clock.today());
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            assertEquals(DateValue.givenDate(14, 12, 1972), clock.today());
+            TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+            assertEquals(DateValue.givenDate(15, 12, 1972), clock.today());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    public void testFixedClock() {
+        DateClock.setDefault(DateClock.fixed(DateValue.givenDate(14, 12, 1972)));
+
+        assertEquals(DateValue.givenDate(14, 12, 1972), DateValue.today());
+        assertEquals(DateBuilder.givenDate(14, 12, 1972), DateBuilder.today());
+        assertEquals(DateBuilder.givenDate(12, 12, 1972), DateBuilder.today().daysAgo(2));
+    }
+
+    @Test
+    public void testOffsetClock() {
+        DateClock.setDefault(DateClock.offset(DateClock.fixed(DateValue.givenDate(31, 12, 1972)), 1));
+
+        assertEquals(DateBuilder.givenDate(1, 1, 1973), DateBuilder.today());
+        assertEquals(DateValue.today().previousDay(),
+                DateClock.offset(DateClock.getDefault(), -1).today());
+    }
+
+    @Test
+    public void testSetDefaultNullRestoresSystemClock() {
+        DateClock.setDefault(DateClock.fixed(DateValue.givenDate(14, 12, 1972)));
+        DateClock.setDefault(null);
+
+        assertEquals(DateClock.system().today(), DateValue.today());
+    }
+}
@@ -0,0 +1,149 @@
+package de.javandry.testutils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import static de.javandry.testutils.DateValue.givenDate;
+import static org.junit.Assert.*;
+
+public class DateColumnParserTests {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Locale defaultLocale;
+
+    @Before
+    public void setUp() {
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void testParseColumn() throws IOException {
+        File file = write("id;booking date;amount\r\n"
+                + "1;2012-12-14;100\r\n"
+                + "2;\"2012-02-29\";200\r\n"
+                + "\r\n"
+                + "3;2012-2-1;300\r\n"
+                + "4;14.12.2012;400\r\n"
+                + "5\r\n"
+                + "6;1972-12-14");
+
+        DateColumn dates = DateColumnParser.forPattern("yyyy-MM-dd").column(1).separator(';').skipLines(1).parse(file);
+
+        assertEquals(6, dates.size());
+        assertEquals(givenDate(14, 12, 2012), dates.get(0));
+        assertEquals(givenDate(29, 2, 2012), dates.get(1));
+        assertEquals(givenDate(1, 2, 2012), dates.get(2));
+        assertEquals(DateColumn.INVALID, dates.epochDays()[3]);
+        assertEquals(DateColumn.INVALID, dates.epochDays()[4]);
+        assertEquals(givenDate(14, 12, 1972), dates.get(5));
+
+        assertTrue(dates.hasErrors());
+        assertEquals(2, dates.errors().size());
+        assertEquals(6, dates.errors().get(0).getLine());
+        assertEquals(3, dates.errors().get(0).getRow());
+        assertEquals("14.12.2012", dates.errors().get(0).getText());
+        assertEquals("line 6: Unparseable date: \"14.12.2012\"", dates.errors().get(0).toString());
+        assertEquals(7, dates.errors().get(1).getLine());
+        assertNull(dates.errors().get(1).getText());
+        assertEquals("no column 1", dates.errors().get(1).getMessage());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetInvalidRow() throws IOException {
+        DateColumnParser.forPattern("yyyy-MM-dd").parse(write("no date\n")).get(0);
+    }
+
+    @Test
+    public void testTextualPatternAndTabs() throws IOException {
+        File file = write("a\t14-Mai-1972\n"
+                + "b\t31-Mai-2012\n"
+                + "c\t14-May-1972\n");
+
+        DateColumn dates = DateColumnParser.forPattern("dd-MMM-yyyy").column(1).separator('\t').parse(file);
+
+        assertEquals(givenDate(14, 5, 1972), dates.get(0));
+        assertEquals(givenDate(31, 5, 2012), dates.get(1));
+        assertEquals(1, dates.errors().size());
+        assertEquals(3, dates.errors().get(0).getLine());
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        DateColumn dates = DateColumnParser.forPattern("yyyy-MM-dd").skipLines(1).parse(write(""));
+
+        assertEquals(0, dates.size());
+        assertFalse(dates.hasErrors());
+    }
+
+    @Test
+    public void testLargeFileInParallel() throws IOException {
+        File file = temporaryFolder.newFile("large.csv");
+        int lines = 300000;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+        writer.write("row,date\n");
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            line.setLength(0);
+            line.append(i).append(',');
+            if (i % 100000 == 99999) {
+                line.append("invalid");
+            } else {
+                DateValue.ofEpochDay(i).formatTo(line, "dd.MM.yyyy");
+            }
+            writer.write(line.append('\n').toString());
+        }
+        writer.close();
+        assertTrue(file.length() > 4 << 20);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        DateColumn dates;
+        try {
+            dates = DateColumnParser.forPattern("dd.MM.yyyy").column(1).skipLines(1).pool(pool).parse(file);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(lines, dates.size());
+        for (int i = 0; i < lines; i++) {
+            assertEquals(i % 100000 == 99999 ? DateColumn.INVALID : i, dates.epochDays()[i]);
+        }
+        assertEquals(3, dates.errors().size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i * 100000 + 99999, dates.errors().get(i).getRow());
+            assertEquals(i * 100000 + 99999 + 2, dates.errors().get(i).getLine());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSeparator() {
+        DateColumnParser.forPattern("yyyy-MM-dd").separator('\n');
+    }
+
+    private File write(String content) throws IOException {
+        File file = temporaryFolder.newFile();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        writer.write(content);
+        writer.close();
+        return file;
+    }
+}
@@ -0,0 +1,135 @@
+package de.javandry.testutils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static de.javandry.testutils.DateValue.givenDate;
+import static org.junit.Assert.*;
+
+public class DateExpressionTests {
+
+    private static final DateValue BASE = givenDate(14, 12, 1972);
+
+    @After
+    public void tearDown() {
+        DateClock.setDefault(null);
+    }
+
+    @Test
+    public void testOffsets() {
+        assertEquals(givenDate(14, 12, 1972), evaluate("today"));
+        assertEquals(givenDate(12, 12, 1972), evaluate("today-2d"));
+        assertEquals(givenDate(12, 12, 1972), evaluate("-2d"));
+        assertEquals(givenDate(28, 12, 1972), evaluate("today + 2w"));
+        assertEquals(givenDate(14, 3, 1973), evaluate("+3M"));
+        assertEquals(givenDate(14, 12, 1962), evaluate("-10y"));
+        assertEquals(givenDate(22, 12, 1972), evaluate("+1d +1W -1D +1d"));
+        assertEquals(givenDate(15, 12, 1972), evaluate("tomorrow"));
+        assertEquals(givenDate(13, 12, 1972), evaluate("Yesterday"));
+    }
+
+    @Test
+    public void testMonthsArePinnedLikeDateBuilder() {
+        assertEquals(givenDate(29, 2, 2012), DateExpression.compile("+1m").evaluate(givenDate(31, 1, 2012)));
+        assertEquals(givenDate(29, 3, 2012), DateExpression.compile("+1m +1m").evaluate(givenDate(31, 1, 2012)));
+        assertEquals(givenDate(28, 2, 2013), DateExpression.compile("+1y").evaluate(givenDate(29, 2, 2012)));
+    }
+
+    @Test
+    public void testNextAndLast() {
+        assertEquals(givenDate(14, 1, 1973), evaluate("next month"));
+        assertEquals(givenDate(14, 11, 1972), evaluate("last month"));
+        assertEquals(givenDate(14, 12, 1971), evaluate("previous year"));
+        assertEquals(givenDate(21, 12, 1972), evaluate("next week"));
+    }
+
+    @Test
+    public void testFirstAndLastDayOf() {
+        assertEquals(givenDate(1, 12, 1972), evaluate("first day of month"));
+        assertEquals(givenDate(1, 1, 1973), evaluate("first day of next month"));
+        assertEquals(givenDate(1, 11, 1972), evaluate("First Day Of Last Month"));
+        assertEquals(givenDate(31, 12, 1972), evaluate("last day of this month"));
+        assertEquals(givenDate(31, 1, 1973), evaluate("last day of next month"));
+        assertEquals(givenDate(30, 11, 1972), evaluate("last day of previous month"));
+        assertEquals(givenDate(1, 1, 1972), evaluate("first day of year"));
+        assertEquals(givenDate(31, 12, 1973), evaluate("last day of next year"));
+        assertEquals(givenDate(11, 12, 1972), evaluate("first day of week"));
+        assertEquals(givenDate(17, 12, 1972), evaluate("last day of week"));
+        assertEquals(givenDate(18, 12, 1972), evaluate("first day of next week"));
+        assertEquals(givenDate(31, 3, 1973), evaluate("last day of month +3M"));
+        assertEquals(givenDate(30, 4, 2012), DateExpression.compile("last day of month +3M").evaluate(givenDate(14, 1, 2012)));
+    }
+
+    @Test
+    public void testMatchesDateBuilder() {
+        assertEquals(DateBuilder.givenDate(14, 12, 1972).day(1).monthsAhead(1),
+                DateBuilder.givenDate(14, 12, 1972).apply(DateExpression.compile("first day of next month")));
+        assertEquals(DateBuilder.givenDate(14, 12, 1972).lastDay().monthsAhead(3),
+                DateBuilder.givenDate(14, 12, 1972).apply(DateExpression.compile("last day of month +3M")));
+        assertEquals(DateBuilder.givenDate(14, 12, 1972).daysAgo(2),
+                DateBuilder.givenDate(14, 12, 1972).apply(DateExpression.compile("today-2d")));
+    }
+
+    @Test
+    public void testApply() {
+        assertEquals(givenDate(1, 1, 1973), BASE.apply(DateExpression.compile("first day of next month")));
+
+        DateSequence sequence = DateSequence.of(DateRange.between(givenDate(30, 1, 2012), givenDate(2, 2, 2012)))
+                .apply(DateExpression.compile("last day of month"));
+
+        assertEquals(givenDate(31, 1, 2012), sequence.get(0));
+        assertEquals(givenDate(31, 1, 2012), sequence.get(1));
+        assertEquals(givenDate(29, 2, 2012), sequence.get(2));
+        assertEquals(givenDate(29, 2, 2012), sequence.get(3));
+    }
+
+    @Test
+    public void testEvaluateAgainstClock() {
+        DateClock.setDefault(DateClock.fixed(BASE));
+
+        assertEquals(givenDate(12, 12, 1972), DateExpression.compile("today-2d").evaluate());
+    }
+
+    @Test
+    public void testCompiledExpressionsAreCached() {
+        assertSame(DateExpression.compile("first day of next month"), DateExpression.compile("first day of next month"));
+        assertEquals("first day of next month", DateExpression.compile("first day of next month").toString());
+    }
+
+    @Test
+    public void testInvalidExpressions() {
+        assertInvalid("today+2", "unit (d, w, m, y) expected at position 7");
+        assertInvalid("today+2x", "unit (d, w, m, y) expected at position 7");
+        assertInvalid("today+d", "amount expected at position 6");
+        assertInvalid("first of month", "\"day\" expected at position 6");
+        assertInvalid("first day of decade", "week, month or year expected at position 13");
+        assertInvalid("next decade", "week, month or year expected at position 5");
+        assertInvalid("someday", "unexpected \"someday\" at position 0");
+        assertInvalid("+2d today", "unexpected \"today\" at position 4");
+        assertInvalid("today*2", "unexpected character '*' at position 5");
+    }
+
+    @Test
+    public void testOverflowingOffsets() {
+        assertInvalid("today+300000000y", "amount too large at position 6");
+        assertInvalid("today-400000000w", "amount too large at position 6");
+        assertInvalid("+99999999999d", "amount too large at position 11");
+        assertInvalid("+2147483647d+1d", "offset too large at position 15");
+        assertInvalid("-2147483647d-1w", "offset too large at position 15");
+        DateExpression.compile("+178956970y");
+        DateExpression.compile("+2147483647d-1d");
+    }
+
+    private static DateValue evaluate(String expression) {
+        return DateExpression.compile(expression).evaluate(BASE);
+    }
+
+    private static void assertInvalid(String expression, String message) {
+        try {
+            DateExpression.compile(expression);
+            fail(expression);
+        } catch (IllegalArgumentException e) {
+            assertEquals(message + " of date expression \"" + expression + "\"", e.getMessage());
+        }
+    }
+}
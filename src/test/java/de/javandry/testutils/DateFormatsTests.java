@@ -0,0 +1,81 @@
+package de.javandry.testutils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.DateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class DateFormatsTests {
+
+    private Locale defaultLocale;
+    private TimeZone zone;
+
+    @Before
+    public void setUp() {
+        defaultLocale = Locale.getDefault();
+        zone = TimeZone.getDefault();
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void testFormatsAreReused() {
+        assertSame(DateFormats.forLocale(Locale.GERMANY, zone), DateFormats.forLocale(Locale.GERMANY, zone));
+        assertSame(DateFormats.forPattern("dd.MM.yyyy", zone), DateFormats.forPattern("dd.MM.yyyy", zone));
+        assertNotSame(DateFormats.forLocale(Locale.GERMANY, zone), DateFormats.forLocale(Locale.US, zone));
+    }
+
+    @Test
+    public void testPatternFormatsDependOnDefaultLocale() {
+        Locale.setDefault(Locale.US);
+        DateFormat usFormat = DateFormats.forPattern("dd-MMM-yyyy", zone);
+        Locale.setDefault(Locale.GERMANY);
+        DateFormat germanFormat = DateFormats.forPattern("dd-MMM-yyyy", zone);
+
+        assertNotSame(usFormat, germanFormat);
+        assertEquals(DateBuilder.givenDate(14, 5, 1972), DateBuilder.parse("14-Mai-1972", "dd-MMM-yyyy"));
+    }
+
+    @Test
+    public void testFormatsAreConfinedToThread() throws Exception {
+        final AtomicReference<DateFormat> otherThreadFormat = new AtomicReference<DateFormat>();
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                otherThreadFormat.set(DateFormats.forPattern("yyyy-MM-dd", zone));
+            }
+        };
+        thread.start();
+        thread.join();
+
+        assertNotNull(otherThreadFormat.get());
+        assertNotSame(otherThreadFormat.get(), DateFormats.forPattern("yyyy-MM-dd", zone));
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        DateFormat first = DateFormats.forPattern("'first' dd.MM.yyyy", zone);
+        for (int i = 0; i < DateFormats.MAX_FORMATS_PER_THREAD; i++) {
+            DateFormats.forPattern("'" + i + "' dd.MM.yyyy", zone);
+        }
+
+        assertNotSame(first, DateFormats.forPattern("'first' dd.MM.yyyy", zone));
+    }
+
+    @Test
+    public void testFormatsUseGivenTimeZone() {
+        TimeZone tokyo = TimeZone.getTimeZone("Asia/Tokyo");
+
+        assertEquals(tokyo, DateFormats.forPattern("dd.MM.yyyy", tokyo).getTimeZone());
+        assertEquals(zone, DateFormats.forPattern("dd.MM.yyyy", zone).getTimeZone());
+    }
+}
@@ -0,0 +1,35 @@
+package de.javandry.testutils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DatePeriodTests {
+
+    @Test
+    public void testParts() {
+        DatePeriod period = DatePeriod.between(EpochDays.of(2012, 1, 31), EpochDays.of(2013, 3, 3));
+
+        assertEquals(1, period.getYears());
+        assertEquals(1, period.getMonths());
+        assertEquals(3, period.getDays());
+        assertEquals(13, period.toTotalMonths());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("P0D", DatePeriod.between(15688, 15688).toString());
+        assertEquals("P1Y1M3D", DatePeriod.between(EpochDays.of(2012, 1, 31), EpochDays.of(2013, 3, 3)).toString());
+        assertEquals("P-2D", DatePeriod.between(EpochDays.of(2012, 3, 1), EpochDays.of(2012, 2, 28)).toString());
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        DatePeriod period = DatePeriod.between(EpochDays.of(2012, 1, 1), EpochDays.of(2012, 2, 2));
+        DatePeriod samePeriod = DatePeriod.between(EpochDays.of(2013, 6, 1), EpochDays.of(2013, 7, 2));
+
+        assertEquals(period, samePeriod);
+        assertEquals(period.hashCode(), samePeriod.hashCode());
+        assertFalse(period.equals(DatePeriod.between(EpochDays.of(2012, 1, 1), EpochDays.of(2012, 2, 3))));
+    }
+}
@@ -0,0 +1,120 @@
+package de.javandry.testutils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static de.javandry.testutils.DateValue.givenDate;
+import static org.junit.Assert.*;
+
+public class DateRangeTests {
+
+    @Test
+    public void testDailyRange() {
+        DateRange range = DateRange.between(givenDate(30, 12, 1972), givenDate(2, 1, 1973));
+
+        assertEquals(4, range.size());
+        assertEquals(Arrays.asList(givenDate(30, 12, 1972), givenDate(31, 12, 1972), givenDate(1, 1, 1973),
+                givenDate(2, 1, 1973)), toList(range));
+    }
+
+    @Test
+    public void testRangeOfDateBuilders() {
+        DateRange range = DateRange.between(DateBuilder.givenDate(1, 2, 2012), DateBuilder.givenDate(1, 3, 2012));
+
+        assertEquals(30, range.size());
+        assertEquals(givenDate(29, 2, 2012), range.get(28));
+    }
+
+    @Test
+    public void testEmptyRange() {
+        DateRange range = DateRange.between(givenDate(14, 12, 1972), givenDate(13, 12, 1972));
+
+        assertEquals(0, range.size());
+        assertFalse(range.iterator().hasNext());
+        assertEquals(0, range.stream().count());
+    }
+
+    @Test
+    public void testWeeklyRange() {
+        DateRange range = DateRange.between(givenDate(1, 1, 2012), givenDate(31, 1, 2012)).every(1, DateUnit.WEEKS);
+
+        assertEquals(Arrays.asList(givenDate(1, 1, 2012), givenDate(8, 1, 2012), givenDate(15, 1, 2012),
+                givenDate(22, 1, 2012), givenDate(29, 1, 2012)), toList(range));
+    }
+
+    @Test
+    public void testMonthlyRangeDoesNotDrift() {
+        DateRange range = DateRange.between(givenDate(31, 1, 2012), givenDate(30, 4, 2012)).every(1, DateUnit.MONTHS);
+
+        assertEquals(Arrays.asList(givenDate(31, 1, 2012), givenDate(29, 2, 2012), givenDate(31, 3, 2012),
+                givenDate(30, 4, 2012)), toList(range));
+        assertEquals(3, DateRange.between(givenDate(31, 1, 2012), givenDate(29, 4, 2012))
+                .every(1, DateUnit.MONTHS).size());
+        assertEquals(2, DateRange.between(givenDate(31, 1, 2012), givenDate(30, 4, 2012))
+                .every(2, DateUnit.MONTHS).size());
+    }
+
+    @Test
+    public void testYearlyRange() {
+        DateRange range = DateRange.between(givenDate(29, 2, 2012), givenDate(1, 3, 2016)).every(2, DateUnit.YEARS);
+
+        assertEquals(Arrays.asList(givenDate(29, 2, 2012), givenDate(28, 2, 2014), givenDate(29, 2, 2016)),
+                toList(range));
+    }
+
+    @Test
+    public void testSizeMatchesIteration() {
+        DateValue first = givenDate(17, 3, 1999);
+        for (DateUnit unit : DateUnit.values()) {
+            for (int amount = 1; amount <= 5; amount++) {
+                for (int days = 0; days < 2000; days += 97) {
+                    DateRange range = DateRange.between(first, first.daysAhead(days)).every(amount, unit);
+                    assertEquals(unit + " " + amount + " " + days, range.size(), toList(range).size());
+                    for (DateValue date : range) {
+                        assertTrue(date.epochDay() <= first.daysAhead(days).epochDay());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSpliteratorSplitsExactly() {
+        DateRange range = DateRange.between(givenDate(1, 1, 1900), givenDate(31, 12, 2099));
+        Spliterator<DateValue> spliterator = range.spliterator();
+        Spliterator<DateValue> prefix = spliterator.trySplit();
+
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED));
+        assertEquals(range.size(), prefix.estimateSize() + spliterator.estimateSize());
+        assertEquals(range.size(), prefix.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void testParallelStream() {
+        DateRange range = DateRange.between(givenDate(1, 1, 1), givenDate(31, 12, 9999));
+
+        assertEquals(range.size(), range.parallelStream().count());
+        assertEquals(9999, range.parallelStream().filter(d -> d.getDay() == 1 && d.getMonth() == 1).count());
+        assertEquals(toList(DateRange.between(givenDate(1, 1, 2000), givenDate(31, 12, 2001))),
+                DateRange.between(givenDate(1, 1, 2000), givenDate(31, 12, 2001)).parallelStream()
+                        .collect(Collectors.toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveAmount() {
+        DateRange.between(givenDate(1, 1, 2012), givenDate(1, 1, 2013)).every(0, DateUnit.DAYS);
+    }
+
+    private static List<DateValue> toList(DateRange range) {
+        List<DateValue> dates = new ArrayList<DateValue>();
+        for (DateValue date : range) {
+            dates.add(date);
+        }
+        return dates;
+    }
+}
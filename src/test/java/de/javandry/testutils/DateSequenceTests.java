@@ -0,0 +1,137 @@
+package de.javandry.testutils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static de.javandry.testutils.DateValue.givenDate;
+import static org.junit.Assert.*;
+
+public class DateSequenceTests {
+
+    @Test
+    public void testAppend() {
+        for (DateSequence dates : Arrays.asList(DateSequence.onHeap(), DateSequence.offHeap(1))) {
+            dates.append(givenDate(14, 12, 1972)).append(DateBuilder.givenDate(1, 1, 2000));
+
+            assertEquals(2, dates.size());
+            assertEquals(givenDate(14, 12, 1972), dates.get(0));
+            assertEquals(givenDate(1, 1, 2000), dates.get(1));
+        }
+    }
+
+    @Test
+    public void testAppendAllGrowsCapacity() {
+        for (DateSequence dates : Arrays.asList(DateSequence.onHeap(), DateSequence.offHeap(3))) {
+            dates.append(givenDate(31, 12, 1999));
+            dates.appendAll(DateRange.between(givenDate(1, 1, 2000), givenDate(31, 12, 2000)));
+
+            assertEquals(367, dates.size());
+            assertEquals(givenDate(31, 12, 1999), dates.get(0));
+            assertEquals(givenDate(29, 2, 2000), dates.get(60));
+            assertEquals(givenDate(31, 12, 2000), dates.get(366));
+        }
+    }
+
+    @Test
+    public void testCapacityOutOfRange() {
+        for (int capacity : new int[]{-1, DateSequence.MAX_OFF_HEAP_CAPACITY + 1, Integer.MAX_VALUE}) {
+            try {
+                DateSequence.offHeap(capacity);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testGrownCapacity() {
+        int max = DateSequence.MAX_OFF_HEAP_CAPACITY;
+
+        assertEquals(32, DateSequence.grownCapacity(16, 17, max));
+        assertEquals(1000, DateSequence.grownCapacity(16, 1000, max));
+        assertEquals(max, DateSequence.grownCapacity(max / 2 + 1, max / 2 + 2, max));
+        assertEquals(max, DateSequence.grownCapacity(max - 1, max, max));
+        assertEquals(Integer.MAX_VALUE - 8,
+                DateSequence.grownCapacity(Integer.MAX_VALUE - 9, Integer.MAX_VALUE - 8, Integer.MAX_VALUE - 8));
+        try {
+            DateSequence.grownCapacity(max, max + 1L, max);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("sequence cannot hold more than " + max + " dates: " + (max + 1L), e.getMessage());
+        }
+        try {
+            DateSequence.grownCapacity(16, 16L + Integer.MAX_VALUE, Integer.MAX_VALUE - 8);
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testOf() {
+        DateSequence dates = DateSequence.of(DateRange.between(givenDate(1, 1, 2012), givenDate(31, 12, 2012))
+                .every(1, DateUnit.MONTHS));
+
+        assertEquals(12, dates.size());
+        assertFalse(dates.isOffHeap());
+        assertEquals(givenDate(1, 12, 2012), dates.get(11));
+    }
+
+    @Test
+    public void testPlus() {
+        for (DateSequence dates : Arrays.asList(DateSequence.onHeap(), DateSequence.offHeap(4))) {
+            dates.append(givenDate(31, 1, 2012)).append(givenDate(14, 12, 1972));
+
+            dates.plus(1, DateUnit.MONTHS);
+            assertEquals(givenDate(29, 2, 2012), dates.get(0));
+            assertEquals(givenDate(14, 1, 1973), dates.get(1));
+
+            dates.plus(-2, DateUnit.DAYS);
+            assertEquals(givenDate(27, 2, 2012), dates.get(0));
+            assertEquals(givenDate(12, 1, 1973), dates.get(1));
+
+            dates.plus(1, DateUnit.WEEKS).plus(-1, DateUnit.YEARS);
+            assertEquals(givenDate(5, 3, 2011), dates.get(0));
+            assertEquals(givenDate(19, 1, 1972), dates.get(1));
+        }
+    }
+
+    @Test
+    public void testSort() {
+        for (DateSequence dates : Arrays.asList(DateSequence.onHeap(), DateSequence.offHeap(4))) {
+            dates.append(givenDate(3, 1, 2000)).append(givenDate(1, 1, 2000)).append(givenDate(2, 1, 1999));
+
+            dates.sort();
+
+            assertEquals(Arrays.asList(givenDate(2, 1, 1999), givenDate(1, 1, 2000), givenDate(3, 1, 2000)),
+                    Arrays.asList(dates.get(0), dates.get(1), dates.get(2)));
+        }
+    }
+
+    @Test
+    public void testToEpochDays() {
+        DateSequence dates = DateSequence.offHeap(2).append(givenDate(1, 1, 1970)).append(givenDate(2, 1, 1970));
+
+        assertArrayEquals(new int[]{0, 1}, dates.toEpochDays());
+        assertArrayEquals(new int[]{0, 1}, dates.toEpochDays());
+    }
+
+    @Test
+    public void testViews() {
+        DateSequence dates = DateSequence.onHeap().append(givenDate(14, 12, 1972)).append(givenDate(1, 1, 2000));
+
+        assertEquals(2, dates.asDates().size());
+        assertEquals(givenDate(14, 12, 1972).toDate(), dates.asDates().get(0));
+        assertEquals(givenDate(1, 1, 2000).toSqlDate(), dates.asSqlDates().get(1));
+
+        dates.plus(1, DateUnit.DAYS);
+        assertEquals(givenDate(15, 12, 1972).toDate(), dates.asDates().get(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        DateSequence.offHeap(10).append(givenDate(14, 12, 1972)).get(1);
+    }
+}
@@ -0,0 +1,172 @@
+package de.javandry.testutils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static de.javandry.testutils.DateValue.givenDate;
+import static org.junit.Assert.*;
+
+public class DateSetTests {
+
+    private Locale defaultLocale;
+
+    @Before
+    public void setUp() {
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void testBuildMergesOverlappingAndAdjacentIntervals() {
+        DateSet set = DateSet.builder()
+                .add(givenDate(1, 5, 2012), givenDate(31, 5, 2012))
+                .add(givenDate(1, 1, 2012), givenDate(31, 1, 2012))
+                .add(givenDate(15, 1, 2012), givenDate(10, 2, 2012))
+                .add(givenDate(11, 2, 2012), givenDate(29, 2, 2012))
+                .add(givenDate(14, 12, 2012))
+                .add(givenDate(31, 12, 2012), givenDate(1, 12, 2012))
+                .build();
+
+        assertEquals("[01.01.2012..29.02.2012, 01.05.2012..31.05.2012, 14.12.2012]", set.toString());
+        assertEquals(60 + 31 + 1, set.size());
+        assertEquals(givenDate(1, 1, 2012), set.first());
+        assertEquals(givenDate(14, 12, 2012), set.last());
+    }
+
+    @Test
+    public void testBuilderAcceptsDateBuilders() {
+        DateSet set = DateSet.builder()
+                .add(DateBuilder.givenDate(1, 1, 2012), DateBuilder.givenDate(1, 1, 2012).monthsAhead(1).lastDay())
+                .build();
+
+        assertEquals(DateSet.between(givenDate(1, 1, 2012), givenDate(29, 2, 2012)), set);
+    }
+
+    @Test
+    public void testContains() {
+        DateSet set = DateSet.builder()
+                .add(givenDate(1, 1, 2012), givenDate(31, 1, 2012))
+                .add(givenDate(1, 3, 2012), givenDate(31, 3, 2012))
+                .build();
+
+        assertFalse(set.contains(givenDate(31, 12, 2011)));
+        assertTrue(set.contains(givenDate(1, 1, 2012)));
+        assertTrue(set.contains(givenDate(31, 1, 2012)));
+        assertFalse(set.contains(givenDate(14, 2, 2012)));
+        assertTrue(set.contains(DateBuilder.givenDate(14, 3, 2012)));
+        assertFalse(set.contains(givenDate(1, 4, 2012)));
+        assertFalse(DateSet.empty().contains(givenDate(1, 1, 2012)));
+    }
+
+    @Test
+    public void testContainsAllAndOverlaps() {
+        DateSet set = DateSet.builder()
+                .add(givenDate(1, 1, 2012), givenDate(31, 1, 2012))
+                .add(givenDate(1, 3, 2012), givenDate(31, 3, 2012))
+                .build();
+
+        assertTrue(set.containsAll(givenDate(2, 1, 2012), givenDate(30, 1, 2012)));
+        assertFalse(set.containsAll(givenDate(2, 1, 2012), givenDate(1, 3, 2012)));
+        assertTrue(set.containsAll(DateSet.between(givenDate(5, 3, 2012), givenDate(6, 3, 2012))));
+        assertTrue(set.overlaps(givenDate(31, 1, 2012), givenDate(1, 2, 2012)));
+        assertFalse(set.overlaps(givenDate(1, 2, 2012), givenDate(29, 2, 2012)));
+        assertTrue(set.overlaps(givenDate(1, 2, 2012), givenDate(1, 3, 2012)));
+        assertTrue(set.overlaps(DateSet.between(givenDate(1, 12, 2011), givenDate(1, 1, 2012))));
+        assertFalse(set.overlaps(DateSet.between(givenDate(1, 2, 2012), givenDate(29, 2, 2012))));
+    }
+
+    @Test
+    public void testSetOperations() {
+        DateSet a = DateSet.builder()
+                .add(givenDate(1, 1, 2012), givenDate(31, 1, 2012))
+                .add(givenDate(1, 3, 2012), givenDate(31, 3, 2012))
+                .build();
+        DateSet b = DateSet.builder()
+                .add(givenDate(10, 1, 2012), givenDate(20, 1, 2012))
+                .add(givenDate(1, 2, 2012), givenDate(5, 3, 2012))
+                .build();
+
+        assertEquals("[01.01.2012..31.03.2012]", a.union(b).toString());
+        assertEquals("[10.01.2012..20.01.2012, 01.03.2012..05.03.2012]", a.intersection(b).toString());
+        assertEquals("[01.01.2012..09.01.2012, 21.01.2012..31.01.2012, 06.03.2012..31.03.2012]",
+                a.difference(b).toString());
+        assertEquals("[01.02.2012..29.02.2012]", b.difference(a).toString());
+        assertEquals(DateSet.empty(), a.difference(a));
+        assertEquals(a, a.union(DateSet.empty()));
+        assertTrue(a.intersection(DateSet.empty()).isEmpty());
+    }
+
+    @Test
+    public void testGaps() {
+        DateSet set = DateSet.builder()
+                .add(givenDate(1, 1, 2012), givenDate(31, 1, 2012))
+                .add(givenDate(1, 3, 2012), givenDate(31, 3, 2012))
+                .add(givenDate(14, 12, 2012))
+                .build();
+
+        List<DateRange> gaps = set.gaps();
+
+        assertEquals(2, gaps.size());
+        assertEquals(givenDate(1, 2, 2012), gaps.get(0).get(0));
+        assertEquals(29, gaps.get(0).size());
+        assertEquals(givenDate(1, 4, 2012), gaps.get(1).get(0));
+        assertEquals(givenDate(13, 12, 2012), gaps.get(1).get(gaps.get(1).size() - 1));
+        assertEquals(3, set.intervals().size());
+        assertTrue(DateSet.empty().gaps().isEmpty());
+    }
+
+    @Test
+    public void testOfRange() {
+        DateRange range = DateRange.between(givenDate(1, 1, 2012), givenDate(31, 12, 2012)).every(1, DateUnit.WEEKS);
+
+        DateSet set = DateSet.of(range);
+
+        assertEquals(range.size(), set.size());
+        assertEquals(range.size(), set.intervals().size());
+        assertTrue(set.contains(givenDate(8, 1, 2012)));
+        assertFalse(set.contains(givenDate(9, 1, 2012)));
+    }
+
+    @Test
+    public void testOperationsMatchBruteForce() {
+        SplittableRandom random = new SplittableRandom(42);
+        int base = givenDate(1, 1, 2012).epochDay();
+        boolean[] inA = new boolean[2000];
+        boolean[] inB = new boolean[2000];
+        DateSet.Builder a = DateSet.builder();
+        DateSet.Builder b = DateSet.builder();
+        for (int i = 0; i < 20000; i++) {
+            boolean first = random.nextBoolean();
+            int start = random.nextInt(1990);
+            int end = start + random.nextInt(first ? 3 : 8);
+            for (int d = start; d <= end; d++) {
+                (first ? inA : inB)[d] = true;
+            }
+            (first ? a : b).addEpochDays(base + start, base + end);
+        }
+        DateSet setA = a.build();
+        DateSet setB = b.build();
+        DateSet union = setA.union(setB);
+        DateSet intersection = setA.intersection(setB);
+        DateSet difference = setA.difference(setB);
+
+        for (int d = -5; d < 2005; d++) {
+            boolean x = d >= 0 && d < 2000 && inA[d];
+            boolean y = d >= 0 && d < 2000 && inB[d];
+            assertEquals(x, setA.contains(base + d));
+            assertEquals(x || y, union.contains(base + d));
+            assertEquals(x && y, intersection.contains(base + d));
+            assertEquals(x && !y, difference.contains(base + d));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package de.javandry.testutils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import static de.javandry.testutils.DateValue.givenDate;
+import static org.junit.Assert.*;
+
+public class DateSnapshotTests {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndOpenSequence() throws IOException {
+        File file = temporaryFolder.newFile();
+        DateSequence dates = DateSequence.onHeap()
+                .append(givenDate(14, 12, 2012))
+                .append(givenDate(1, 1, 1970))
+                .append(givenDate(29, 2, 2012));
+
+        DateSnapshot.write(file, dates);
+        DateSnapshot snapshot = DateSnapshot.open(file);
+
+        assertEquals(3, snapshot.size());
+        assertEquals(givenDate(14, 12, 2012), snapshot.get(0));
+        assertEquals(givenDate(1, 1, 1970), snapshot.get(1));
+        assertEquals(givenDate(29, 2, 2012), snapshot.get(2));
+        Iterator<DateValue> iterator = snapshot.iterator();
+        assertEquals(givenDate(14, 12, 2012), iterator.next());
+        assertEquals(givenDate(1, 1, 1970), iterator.next());
+        assertEquals(givenDate(29, 2, 2012), iterator.next());
+        assertFalse(iterator.hasNext());
+        assertArrayEquals(dates.toEpochDays(), snapshot.toSequence().toEpochDays());
+    }
+
+    @Test
+    public void testSortedDatesTakeAboutOneBytePerDate() throws IOException {
+        File file = temporaryFolder.newFile();
+        DateRange range = DateRange.between(givenDate(1, 1, 1900), givenDate(31, 12, 2099));
+
+        DateSnapshot.write(file, DateSequence.of(range));
+
+        assertTrue(file.length() < range.size() * 1.1);
+        DateSnapshot snapshot = DateSnapshot.open(file);
+        assertEquals(range.size(), snapshot.size());
+        assertEquals(givenDate(1, 1, 1900), snapshot.get(0));
+        assertEquals(givenDate(1, 1, 2000), snapshot.get(36524));
+        assertEquals(givenDate(31, 12, 2099), snapshot.get(range.size() - 1));
+    }
+
+    @Test
+    public void testRoundTripAcrossBlocks() throws IOException {
+        File file = temporaryFolder.newFile();
+        int[] epochDays = RandomDates.between(givenDate(1, 1, 1), givenDate(31, 12, 9999))
+                .withSeed(42).withEdgeCases(0.1).nextEpochDays(new int[5 * DateSnapshot.BLOCK_SIZE + 7]);
+        epochDays[1] = Integer.MIN_VALUE;
+        epochDays[2] = Integer.MAX_VALUE;
+        epochDays[3] = Integer.MIN_VALUE;
+
+        DateSnapshot.write(file, epochDays);
+        DateSnapshot snapshot = DateSnapshot.open(file);
+
+        assertArrayEquals(epochDays, snapshot.toEpochDays());
+        for (int i = 0; i < epochDays.length; i += 97) {
+            assertEquals(epochDays[i], snapshot.epochDay(i));
+        }
+        assertEquals(epochDays[epochDays.length - 1], snapshot.epochDay(epochDays.length - 1));
+    }
+
+    @Test
+    public void testEmptySnapshot() throws IOException {
+        File file = temporaryFolder.newFile();
+
+        DateSnapshot.write(file, new int[0]);
+        DateSnapshot snapshot = DateSnapshot.open(file);
+
+        assertEquals(0, snapshot.size());
+        assertFalse(snapshot.iterator().hasNext());
+        assertEquals(0, snapshot.toEpochDays().length);
+    }
+
+    @Test
+    public void testIteratorEnd() throws IOException {
+        File file = temporaryFolder.newFile();
+        DateSnapshot.write(file, new int[]{1, 2});
+        PrimitiveIterator.OfInt epochDays = DateSnapshot.open(file).epochDays();
+        epochDays.nextInt();
+        epochDays.nextInt();
+
+        try {
+            epochDays.nextInt();
+            fail("NoSuchElementException expected");
+        } catch (NoSuchElementException expected) {
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() throws IOException {
+        File file = temporaryFolder.newFile();
+        DateSnapshot.write(file, new int[]{1, 2});
+
+        DateSnapshot.open(file).get(2);
+    }
+
+    @Test
+    public void testCorruptFileIsRejected() throws IOException {
+        File file = temporaryFolder.newFile();
+        DateSnapshot.write(file, new int[]{1, 2, 3, 5, 8, 13});
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        randomAccessFile.seek(randomAccessFile.length() - 1);
+        randomAccessFile.write(42);
+        randomAccessFile.close();
+
+        try {
+            DateSnapshot.open(file);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().endsWith("date snapshot checksum mismatch"));
+        }
+    }
+
+    @Test
+    public void testNoSnapshotIsRejected() throws IOException {
+        File file = temporaryFolder.newFile();
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        randomAccessFile.write("2012-12-14\n2012-12-15\n".getBytes("US-ASCII"));
+        randomAccessFile.close();
+
+        try {
+            DateSnapshot.open(file);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().endsWith("no date snapshot"));
+        }
+    }
+}
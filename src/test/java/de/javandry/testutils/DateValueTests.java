@@ -0,0 +1,160 @@
+package de.javandry.testutils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class DateValueTests {
+
+    private static final DateValue REFERENCE_DATE = DateValue.givenDate(14, 12, 1972);
+
+    @Test
+    public void testGivenDate() {
+        assertEquals(14, REFERENCE_DATE.getDay());
+        assertEquals(12, REFERENCE_DATE.getMonth());
+        assertEquals(1972, REFERENCE_DATE.getYear());
+        assertEquals(DateValue.givenDate(1, 1, 1973), DateValue.givenDate(32, 12, 1972));
+    }
+
+    @Test
+    public void testToday() {
+        assertEquals(DateBuilder.today().toValue(), DateValue.today());
+    }
+
+    @Test
+    public void testValueOf() {
+        assertEquals(REFERENCE_DATE, DateValue.valueOf(REFERENCE_DATE.toDate()));
+        assertEquals(REFERENCE_DATE, DateValue.valueOf(REFERENCE_DATE.toSqlDate()));
+    }
+
+    @Test
+    public void testOperationsDoNotModifyInstance() {
+        REFERENCE_DATE.daysAhead(3);
+        REFERENCE_DATE.monthsAgo(2);
+        REFERENCE_DATE.year(2000);
+        REFERENCE_DATE.lastDay();
+
+        assertEquals(DateValue.givenDate(14, 12, 1972), REFERENCE_DATE);
+    }
+
+    @Test
+    public void testArithmetic() {
+        assertEquals(DateValue.givenDate(12, 12, 1972), REFERENCE_DATE.daysAgo(2));
+        assertEquals(DateValue.givenDate(15, 12, 1972), REFERENCE_DATE.nextDay());
+        assertEquals(DateValue.givenDate(14,  1, 1973), REFERENCE_DATE.nextMonth());
+        assertEquals(DateValue.givenDate(14,  7, 1972), REFERENCE_DATE.monthsAgo(5));
+        assertEquals(DateValue.givenDate(14, 12, 1974), REFERENCE_DATE.yearsAhead(2));
+        assertEquals(DateValue.givenDate(29,  2, 2012), DateValue.givenDate(31, 1, 2012).nextMonth());
+        assertEquals(DateValue.givenDate(28,  2, 2013), DateValue.givenDate(29, 2, 2012).nextYear());
+    }
+
+    @Test
+    public void testSetters() {
+        assertEquals(DateValue.givenDate( 1, 12, 1972), REFERENCE_DATE.firstDay());
+        assertEquals(DateValue.givenDate(31, 12, 1972), REFERENCE_DATE.lastDay());
+        assertEquals(DateValue.givenDate(29,  2, 2012), DateValue.givenDate(11, 2, 2012).lastDay());
+        assertEquals(DateValue.givenDate(14,  1, 1972), REFERENCE_DATE.firstMonth());
+        assertEquals(DateValue.givenDate(14,  1, 1973), REFERENCE_DATE.month(13));
+        assertEquals(DateValue.givenDate(14, 12, 2012), REFERENCE_DATE.year(2012));
+        assertEquals(DateValue.givenDate( 2,  3, 2012), DateValue.givenDate(31, 1, 2012).month(2));
+    }
+
+    @Test
+    public void testWeeksAndQuarters() {
+        assertEquals(50, REFERENCE_DATE.getIsoWeek());
+        assertEquals(1, DateValue.givenDate(31, 12, 2012).getIsoWeek());
+        assertEquals(2013, DateValue.givenDate(31, 12, 2012).getIsoWeekYear());
+        assertEquals(DateValue.givenDate(28, 12, 1972), REFERENCE_DATE.weeksAhead(2));
+        assertEquals(DateValue.givenDate( 7, 12, 1972), REFERENCE_DATE.previousWeek());
+        assertEquals(DateValue.givenDate(11, 12, 1972), REFERENCE_DATE.firstDayOfWeek());
+        assertEquals(DateValue.givenDate(17, 12, 1972), REFERENCE_DATE.lastDayOfWeek());
+        assertEquals(DateValue.givenDate( 6,  1, 1972), REFERENCE_DATE.isoWeek(1));
+        assertEquals(4, REFERENCE_DATE.getQuarter());
+        assertEquals(DateValue.givenDate( 1, 10, 1972), REFERENCE_DATE.firstDayOfQuarter());
+        assertEquals(DateValue.givenDate(30,  6, 2012), DateValue.givenDate(1, 4, 2012).lastDayOfQuarter());
+        assertEquals(DateValue.givenDate(22, 12, 2012), DateValue.givenDate(14, 12, 2012)
+                .lastDayOfFiscalPeriod(FiscalCalendar.fourFourFive().endingNearest(6, 1)));
+    }
+
+    @Test
+    public void testDifferences() {
+        assertEquals(-14610, DateValue.givenDate(14, 12, 2012).daysBetween(REFERENCE_DATE));
+        assertEquals(1, DateValue.givenDate(31, 1, 2012).monthsBetween(DateValue.givenDate(29, 2, 2012)));
+        assertEquals(39, REFERENCE_DATE.yearsBetween(DateValue.givenDate(13, 12, 2012)));
+        assertEquals("P40Y", REFERENCE_DATE.periodBetween(DateValue.givenDate(14, 12, 2012)).toString());
+    }
+
+    @Test
+    public void testInterning() {
+        assertSame(REFERENCE_DATE, DateValue.givenDate(14, 12, 1972));
+        assertSame(REFERENCE_DATE, DateValue.givenDate(13, 12, 1972).nextDay());
+        assertSame(REFERENCE_DATE, DateBuilder.givenDate(14, 12, 1972).toValue());
+        assertEquals(DateValue.givenDate(1, 1, 2500), DateValue.givenDate(1, 1, 2500));
+    }
+
+    @Test
+    public void testInterningIsThreadSafe() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<DateValue[]>> results = new ArrayList<Future<DateValue[]>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<DateValue[]>() {
+                    public DateValue[] call() {
+                        DateValue[] values = new DateValue[3650];
+                        for (int day = 0; day < values.length; day++) {
+                            values[day] = DateValue.givenDate(1, 1, 2040).daysAhead(day);
+                        }
+                        return values;
+                    }
+                }));
+            }
+            DateValue[] expected = results.get(0).get();
+            for (Future<DateValue[]> result : results) {
+                DateValue[] values = result.get();
+                for (int day = 0; day < values.length; day++) {
+                    assertSame(expected[day], values[day]);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCompareTo() {
+        assertEquals(0, REFERENCE_DATE.compareTo(DateValue.givenDate(14, 12, 1972)));
+        assertTrue(REFERENCE_DATE.compareTo(REFERENCE_DATE.nextDay()) < 0);
+        assertTrue(REFERENCE_DATE.compareTo(REFERENCE_DATE.previousYear()) > 0);
+        assertTrue(DateValue.givenDate(1, 1, -5000).compareTo(DateValue.givenDate(1, 1, 5000)) < 0);
+    }
+
+    @Test
+    public void testPrimitiveOutputs() {
+        DateValue date = DateValue.givenDate(14, 12, 1972);
+
+        assertEquals(1078, date.toEpochDay());
+        assertEquals(1078 * 24L * 60 * 60 * 1000, date.toEpochMillis(TimeZone.getTimeZone("UTC")));
+        assertEquals(date.toSqlDate(), date.writeTo(new java.sql.Date(0)));
+        assertEquals(date.toDate(), date.writeTo(new Date()));
+        assertEquals(1078 * 24L * 60 * 60 * 1000 - 9 * 60 * 60 * 1000, date.toEpochMillis("Asia/Tokyo"));
+        assertEquals(date.toEpochMillis("Asia/Tokyo"), date.toDate(TimeZone.getTimeZone("Asia/Tokyo")).getTime());
+    }
+
+    @Test
+    public void testToBuilder() {
+        DateBuilder builder = REFERENCE_DATE.toBuilder();
+        builder.nextDay();
+
+        assertEquals(DateBuilder.givenDate(15, 12, 1972), builder);
+        assertEquals(DateValue.givenDate(14, 12, 1972), REFERENCE_DATE);
+    }
+}
@@ -0,0 +1,119 @@
+package de.javandry.testutils;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class EpochDaysTests {
+
+    @Test
+    public void testOf() {
+        assertEquals(0, EpochDays.of(1970, 1, 1));
+        assertEquals(-1, EpochDays.of(1969, 12, 31));
+        assertEquals(1078, EpochDays.of(1972, 12, 14));
+        assertEquals(11016, EpochDays.of(2000, 2, 29));
+        assertEquals(-719528, EpochDays.of(0, 1, 1));
+    }
+
+    @Test
+    public void testOfIsLenient() {
+        assertEquals(EpochDays.of(1973, 1, 1), EpochDays.of(1972, 13, 1));
+        assertEquals(EpochDays.of(1972, 11, 30), EpochDays.of(1972, 12, 0));
+        assertEquals(EpochDays.of(1971, 12, 14), EpochDays.of(1972, 0, 14));
+        assertEquals(EpochDays.of(2012, 3, 2), EpochDays.of(2012, 2, 31));
+    }
+
+    @Test
+    public void testToPackedRoundTrip() {
+        for (int epochDay = -800000; epochDay <= 800000; epochDay += 7) {
+            int packed = EpochDays.toPacked(epochDay);
+            assertEquals(epochDay, EpochDays.of(EpochDays.year(packed), EpochDays.month(packed), EpochDays.day(packed)));
+        }
+    }
+
+    @Test
+    public void testToPackedMatchesCalendar() {
+        Calendar calendar = ProlepticCalendars.newCalendar();
+        calendar.clear();
+        calendar.set(1900, Calendar.JANUARY, 1);
+        for (int epochDay = EpochDays.of(1900, 1, 1); epochDay < EpochDays.of(2100, 1, 1); epochDay++) {
+            int packed = EpochDays.toPacked(epochDay);
+            assertEquals(calendar.get(Calendar.YEAR), EpochDays.year(packed));
+            assertEquals(calendar.get(Calendar.MONTH) + 1, EpochDays.month(packed));
+            assertEquals(calendar.get(Calendar.DAY_OF_MONTH), EpochDays.day(packed));
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    @Test
+    public void testPlusMonths() {
+        assertEquals(EpochDays.of(2012, 2, 29), EpochDays.plusMonths(EpochDays.of(2012, 1, 31), 1));
+        assertEquals(EpochDays.of(2011, 2, 28), EpochDays.plusMonths(EpochDays.of(2012, 2, 29), -12));
+        assertEquals(EpochDays.of(1971, 12, 14), EpochDays.plusMonths(EpochDays.of(1972, 1, 14), -1));
+        assertEquals(EpochDays.of(1972, 1, 14), EpochDays.plusMonths(EpochDays.of(1972, 1, 14), 0));
+    }
+
+    @Test
+    public void testLengthOfMonth() {
+        assertEquals(29, EpochDays.lengthOfMonth(2000, 2));
+        assertEquals(28, EpochDays.lengthOfMonth(1900, 2));
+        assertEquals(29, EpochDays.lengthOfMonth(2012, 2));
+        assertEquals(30, EpochDays.lengthOfMonth(2012, 4));
+        assertEquals(31, EpochDays.lengthOfMonth(2012, 12));
+    }
+
+    @Test
+    public void testToMillisMatchesCalendar() {
+        for (String id : TimeZone.getAvailableIDs()) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            GregorianCalendar calendar = ProlepticCalendars.newCalendar();
+            calendar.setTimeZone(zone);
+            int previousOffset = zone.getOffset(EpochDays.of(1900, 1, 1) * EpochDays.MILLIS_PER_DAY);
+            for (int epochDay = EpochDays.of(1900, 1, 1); epochDay <= EpochDays.of(2040, 1, 1); epochDay++) {
+                int offset = zone.getOffset(epochDay * EpochDays.MILLIS_PER_DAY);
+                if (offset != previousOffset || epochDay % 1000 == 0) {
+                    for (int day = epochDay - 1; day <= epochDay + 1; day++) {
+                        int packed = EpochDays.toPacked(day);
+                        calendar.clear();
+                        calendar.set(EpochDays.year(packed), EpochDays.month(packed) - 1, EpochDays.day(packed));
+                        assertEquals(id + " " + day, calendar.getTimeInMillis(), EpochDays.toMillis(day, zone));
+                    }
+                }
+                previousOffset = offset;
+            }
+        }
+    }
+
+    @Test
+    public void testMonthsBetween() {
+        assertEquals(1, EpochDays.monthsBetween(EpochDays.of(2012, 1, 31), EpochDays.of(2012, 2, 29)));
+        assertEquals(0, EpochDays.monthsBetween(EpochDays.of(2012, 1, 31), EpochDays.of(2012, 2, 28)));
+        assertEquals(-1, EpochDays.monthsBetween(EpochDays.of(2012, 3, 31), EpochDays.of(2012, 2, 29)));
+        assertEquals(0, EpochDays.monthsBetween(EpochDays.of(2012, 3, 30), EpochDays.of(2012, 3, 1)));
+        assertEquals(12, EpochDays.monthsBetween(EpochDays.of(2012, 2, 29), EpochDays.of(2013, 2, 28)));
+    }
+
+    @Test
+    public void testMonthsBetweenIsLargestStepNotPassingTarget() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 100000; i++) {
+            int from = EpochDays.of(2000, 1, 1) + random.nextInt(3000);
+            int to = EpochDays.of(2000, 1, 1) + random.nextInt(3000);
+
+            int months = EpochDays.monthsBetween(from, to);
+
+            if (to >= from) {
+                assertTrue(EpochDays.plusMonths(from, months) <= to);
+                assertTrue(EpochDays.plusMonths(from, months + 1) > to);
+            } else {
+                assertTrue(EpochDays.plusMonths(from, months) >= to);
+                assertTrue(EpochDays.plusMonths(from, months - 1) < to);
+            }
+        }
+    }
+}
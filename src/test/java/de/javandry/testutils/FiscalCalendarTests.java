@@ -0,0 +1,105 @@
+package de.javandry.testutils;
+
+import org.junit.Test;
+
+import static de.javandry.testutils.DateValue.givenDate;
+import static java.time.DayOfWeek.*;
+import static org.junit.Assert.*;
+
+public class FiscalCalendarTests {
+
+    @Test
+    public void testFourFourFive() {
+        FiscalCalendar fiscal = FiscalCalendar.fourFourFive();
+
+        assertEquals(2012, fiscal.fiscalYear(givenDate(1, 1, 2012)));
+        assertEquals(1, fiscal.fiscalPeriod(givenDate(1, 1, 2012)));
+        assertEquals(givenDate(28, 1, 2012), fiscal.lastDayOfFiscalPeriod(givenDate(1, 1, 2012)));
+        assertEquals(2, fiscal.fiscalPeriod(givenDate(29, 1, 2012)));
+        assertEquals(givenDate(26, 2, 2012), fiscal.firstDayOfFiscalPeriod(givenDate(14, 3, 2012)));
+        assertEquals(givenDate(31, 3, 2012), fiscal.lastDayOfFiscalPeriod(givenDate(14, 3, 2012)));
+        assertEquals(3, fiscal.fiscalPeriod(givenDate(31, 3, 2012)));
+        assertEquals(12, fiscal.fiscalPeriod(givenDate(29, 12, 2012)));
+        assertEquals(2013, fiscal.fiscalYear(givenDate(30, 12, 2012)));
+        assertEquals(1, fiscal.fiscalPeriod(givenDate(30, 12, 2012)));
+    }
+
+    @Test
+    public void testFiftyThreeWeekYearExtendsLastPeriod() {
+        FiscalCalendar fiscal = FiscalCalendar.fourFourFive();
+
+        assertEquals(2016, fiscal.fiscalYear(givenDate(27, 12, 2015)));
+        assertEquals(givenDate(20, 11, 2016), fiscal.firstDayOfFiscalPeriod(givenDate(31, 12, 2016)));
+        assertEquals(givenDate(31, 12, 2016), fiscal.lastDayOfFiscalPeriod(givenDate(20, 11, 2016)));
+        assertEquals(2017, fiscal.fiscalYear(givenDate(1, 1, 2017)));
+    }
+
+    @Test
+    public void testOtherPatternsAndYearEnds() {
+        FiscalCalendar retail = FiscalCalendar.fourFiveFour().endingNearest(SATURDAY.getValue(), 1);
+
+        assertEquals(2012, retail.fiscalYear(givenDate(28, 1, 2012)));
+        assertEquals(2013, retail.fiscalYear(givenDate(29, 1, 2012)));
+        assertEquals(givenDate(2, 2, 2013), retail.lastDayOfFiscalPeriod(givenDate(14, 1, 2013)));
+        assertEquals(givenDate(31, 3, 2012), retail.lastDayOfFiscalPeriod(givenDate(26, 2, 2012)));
+        assertEquals(givenDate(26, 12, 2015),
+                FiscalCalendar.fiveFourFour().endingOnLast(SATURDAY.getValue(), 12)
+                        .lastDayOfFiscalPeriod(givenDate(1, 12, 2015)));
+        assertEquals(givenDate(30, 1, 2012),
+                FiscalCalendar.fiveFourFour().endingOnLast(SUNDAY.getValue(), 1)
+                        .firstDayOfFiscalPeriod(givenDate(14, 2, 2012)));
+    }
+
+    @Test
+    public void testPeriodsAreContiguousWeeks() {
+        FiscalCalendar[] calendars = {
+                FiscalCalendar.fourFourFive(),
+                FiscalCalendar.fiveFourFour().endingNearest(SUNDAY.getValue(), 8),
+                FiscalCalendar.fourFiveFour().endingOnLast(FRIDAY.getValue(), 6)
+        };
+        for (FiscalCalendar fiscal : calendars) {
+            int epochDay = EpochDays.of(1850, 1, 1);
+            int periodStart = fiscal.firstDayOfFiscalPeriod(epochDay);
+            while (epochDay < EpochDays.of(2150, 1, 1)) {
+                int periodEnd = fiscal.lastDayOfFiscalPeriod(epochDay);
+                int length = periodEnd - periodStart + 1;
+                assertTrue(length == 28 || length == 35 || length == 35 + 7 || length == 28 + 7);
+                for (int day = periodStart; day <= periodEnd; day++) {
+                    assertEquals(periodStart, fiscal.firstDayOfFiscalPeriod(day));
+                    assertEquals(periodEnd, fiscal.lastDayOfFiscalPeriod(day));
+                    assertEquals(fiscal.fiscalPeriod(periodStart), fiscal.fiscalPeriod(day));
+                    assertEquals(fiscal.fiscalYear(periodStart), fiscal.fiscalYear(day));
+                }
+                int period = fiscal.fiscalPeriod(periodEnd);
+                int nextPeriod = fiscal.fiscalPeriod(periodEnd + 1);
+                assertEquals(period == 12 ? 1 : period + 1, nextPeriod);
+                assertEquals(fiscal.fiscalYear(periodEnd) + (period == 12 ? 1 : 0), fiscal.fiscalYear(periodEnd + 1));
+                epochDay = periodStart = periodEnd + 1;
+            }
+        }
+    }
+
+    @Test
+    public void testDecemberEndMatchesDefault() {
+        FiscalCalendar fiscal = FiscalCalendar.fourFourFive().endingOnLast(SATURDAY.getValue(), 12);
+
+        for (int epochDay = EpochDays.of(2000, 1, 1); epochDay < EpochDays.of(2030, 1, 1); epochDay += 5) {
+            assertEquals(FiscalCalendar.fourFourFive().lastDayOfFiscalPeriod(epochDay), fiscal.lastDayOfFiscalPeriod(epochDay));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDayOfWeek() {
+        FiscalCalendar.fourFourFive().endingOnLast(0, 12);
+    }
+
+    @Test
+    public void testInvalidMonth() {
+        try {
+            FiscalCalendar.fourFourFive().endingNearest(SATURDAY.getValue(), 13);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("no month: 13", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package de.javandry.testutils;
+
+import org.junit.Test;
+
+import java.text.DateFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class FixedDatePatternTests {
+
+    /**
+     * Locale whose default date pattern is yyyy-MM-dd in both the CLDR and the JRE locale data.
+     */
+    private static final Locale FIXED_WIDTH_LOCALE = new Locale("sr", "BA");
+
+    @Test
+    public void testForPattern() {
+        assertNotNull(FixedDatePattern.forPattern("dd.MM.yyyy"));
+        assertNotNull(FixedDatePattern.forPattern("yyyy-MM-dd"));
+        assertNotNull(FixedDatePattern.forPattern("yyyyMMdd"));
+        assertNotNull(FixedDatePattern.forPattern("MM/dd/yyyy"));
+        assertNull(FixedDatePattern.forPattern("d.M.yyyy"));
+        assertNull(FixedDatePattern.forPattern("dd.MM.yy"));
+        assertNull(FixedDatePattern.forPattern("dd-MMM-yyyy"));
+        assertNull(FixedDatePattern.forPattern("dd.MM.yyyy HH:mm"));
+        assertNull(FixedDatePattern.forPattern("dd.MM.yyyy 'Uhr'"));
+        assertNull(FixedDatePattern.forPattern("dd.MM"));
+        assertNull(FixedDatePattern.forPattern("dd.MM.yyyy dd"));
+    }
+
+    @Test
+    public void testParse() {
+        assertEquals(EpochDays.of(1972, 12, 14), FixedDatePattern.forPattern("dd.MM.yyyy").parse("14.12.1972", 0, 10));
+        assertEquals(EpochDays.of(1972, 12, 14), FixedDatePattern.forPattern("yyyy-MM-dd").parse("1972-12-14", 0, 10));
+        assertEquals(EpochDays.of(1972, 12, 14), FixedDatePattern.forPattern("yyyyMMdd").parse("19721214", 0, 8));
+    }
+
+    @Test
+    public void testParseWithOffsets() {
+        String line = "4711;14.12.1972;foo";
+
+        assertEquals(EpochDays.of(1972, 12, 14), FixedDatePattern.forPattern("dd.MM.yyyy").parse(line, 5, 15));
+        assertEquals(EpochDays.of(1972, 12, 14),
+                FixedDatePattern.forPattern("dd.MM.yyyy").parse(new StringBuilder(line), 5, 15));
+    }
+
+    @Test
+    public void testParseIsLenient() {
+        FixedDatePattern pattern = FixedDatePattern.forPattern("dd.MM.yyyy");
+
+        assertEquals(EpochDays.of(1973, 1, 1), pattern.parse("32.12.1972", 0, 10));
+        assertEquals(EpochDays.of(1973, 1, 14), pattern.parse("14.13.1972", 0, 10));
+        assertEquals(EpochDays.of(1972, 11, 30), pattern.parse("00.12.1972", 0, 10));
+    }
+
+    @Test
+    public void testParseNoMatch() {
+        FixedDatePattern pattern = FixedDatePattern.forPattern("dd.MM.yyyy");
+
+        assertEquals(FixedDatePattern.NO_MATCH, pattern.parse("1.12.1972", 0, 9));
+        assertEquals(FixedDatePattern.NO_MATCH, pattern.parse("14-12-1972", 0, 10));
+        assertEquals(FixedDatePattern.NO_MATCH, pattern.parse("14.12.197x", 0, 10));
+        assertEquals(FixedDatePattern.NO_MATCH, pattern.parse("14.12.1972 ", 0, 11));
+    }
+
+    @Test
+    public void testForLocale() {
+        assertNotNull(FixedDatePattern.forLocale(Locale.GERMANY));
+        assertNotNull(FixedDatePattern.forLocale(FIXED_WIDTH_LOCALE));
+        assertNull(FixedDatePattern.forLocale(Locale.US));
+        assertNull(FixedDatePattern.forLocale(new Locale("th", "TH")));
+    }
+
+    @Test
+    public void testGermanLocaleMatchesDateFormat() throws Exception {
+        FixedDatePattern pattern = FixedDatePattern.forLocale(Locale.GERMANY);
+        DateFormat dateFormat = DateFormat.getDateInstance(DateFormat.DEFAULT, Locale.GERMANY);
+        EpochDays.makeProleptic(dateFormat.getCalendar());
+        StringBuilder target = new StringBuilder();
+
+        assertTrue(pattern.format(EpochDays.of(1972, 12, 14), target));
+        assertEquals("14.12.1972", target.toString());
+        assertEquals(EpochDays.of(1972, 12, 14), pattern.parse("14.12.1972", 0, 10));
+        for (int epochDay = EpochDays.of(1, 1, 1); epochDay < EpochDays.of(10000, 1, 1); epochDay += 13) {
+            String expected = dateFormat.format(ProlepticCalendars.toCalendar(epochDay).getTime());
+            target.setLength(0);
+            if (pattern.format(epochDay, target)) {
+                assertEquals(expected, target.toString());
+            }
+            long parsed = pattern.parse(expected, 0, expected.length());
+            if (parsed != FixedDatePattern.NO_MATCH) {
+                assertEquals(epochDay, parsed);
+            }
+        }
+    }
+
+    @Test
+    public void testFormat() throws Exception {
+        StringBuilder target = new StringBuilder();
+
+        assertTrue(FixedDatePattern.forPattern("dd.MM.yyyy").format(EpochDays.of(1972, 12, 14), target));
+        assertTrue(FixedDatePattern.forPattern("yyyyMMdd").format(EpochDays.of(812, 1, 2), target.append(' ')));
+        assertFalse(FixedDatePattern.forPattern("yyyyMMdd").format(EpochDays.of(10000, 1, 1), target));
+        assertEquals("14.12.1972 08120102", target.toString());
+    }
+
+    @Test
+    public void testFormatMatchesSimpleDateFormat() throws Exception {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        EpochDays.makeProleptic(dateFormat.getCalendar());
+        FixedDatePattern pattern = FixedDatePattern.forPattern("yyyy-MM-dd");
+        StringBuilder target = new StringBuilder();
+
+        for (int epochDay = EpochDays.of(1, 1, 1); epochDay < EpochDays.of(10000, 1, 1); epochDay += 13) {
+            target.setLength(0);
+            pattern.format(epochDay, target);
+            assertEquals(dateFormat.format(ProlepticCalendars.toCalendar(epochDay).getTime()), target.toString());
+        }
+    }
+
+    @Test
+    public void testParseMatchesSimpleDateFormat() {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy");
+        EpochDays.makeProleptic(dateFormat.getCalendar());
+        FixedDatePattern pattern = FixedDatePattern.forPattern("dd.MM.yyyy");
+        TimeZone zone = dateFormat.getTimeZone();
+
+        for (int year = 1; year <= 2400; year += 37) {
+            for (int month = 0; month <= 13; month++) {
+                for (int day = 0; day <= 35; day++) {
+                    String dateString = String.format("%02d.%02d.%04d", day, month, year);
+                    Date date = dateFormat.parse(dateString, new ParsePosition(0));
+                    assertEquals(dateString, EpochDays.ofMillis(date.getTime(), zone), pattern.parse(dateString, 0, 10));
+                }
+            }
+        }
+    }
+}
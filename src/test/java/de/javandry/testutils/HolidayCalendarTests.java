@@ -0,0 +1,163 @@
+package de.javandry.testutils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Random;
+
+import static de.javandry.testutils.DateValue.givenDate;
+import static java.time.DayOfWeek.*;
+import static org.junit.Assert.*;
+
+public class HolidayCalendarTests {
+
+    private static final HolidayCalendar CHRISTMAS = HolidayCalendar.of(
+            givenDate(24, 12, 2012), givenDate(25, 12, 2012), givenDate(26, 12, 2012), givenDate(31, 12, 2012),
+            givenDate(1, 1, 2013), givenDate(25, 12, 2012));
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testIsWorkday() {
+        assertTrue(HolidayCalendar.weekendsOnly().isWorkday(givenDate(21, 12, 2012)));
+        assertFalse(HolidayCalendar.weekendsOnly().isWorkday(givenDate(22, 12, 2012)));
+        assertFalse(HolidayCalendar.weekendsOnly().isWorkday(givenDate(23, 12, 2012)));
+        assertTrue(HolidayCalendar.weekendsOnly().isWorkday(givenDate(24, 12, 2012)));
+        assertFalse(CHRISTMAS.isWorkday(givenDate(24, 12, 2012)));
+        assertTrue(CHRISTMAS.isWorkday(givenDate(27, 12, 2012)));
+    }
+
+    @Test
+    public void testWorkdaysAhead() {
+        assertEquals(DateBuilder.givenDate(24, 12, 2012), DateBuilder.givenDate(21, 12, 2012).workdaysAhead(1));
+        assertEquals(DateBuilder.givenDate(27, 12, 2012), DateBuilder.givenDate(21, 12, 2012).workdaysAhead(1, CHRISTMAS));
+        assertEquals(DateBuilder.givenDate(3, 1, 2013), DateBuilder.givenDate(21, 12, 2012).workdaysAhead(4, CHRISTMAS));
+        assertEquals(DateBuilder.givenDate(22, 12, 2012), DateBuilder.givenDate(22, 12, 2012).workdaysAhead(0));
+    }
+
+    @Test
+    public void testWorkdaysAgo() {
+        assertEquals(DateBuilder.givenDate(21, 12, 2012), DateBuilder.givenDate(27, 12, 2012).workdaysAgo(1, CHRISTMAS));
+        assertEquals(DateBuilder.givenDate(21, 12, 2012), DateBuilder.givenDate(24, 12, 2012).workdaysAgo(1));
+        assertEquals(DateBuilder.givenDate(14, 12, 2012), DateBuilder.givenDate(22, 12, 2012).workdaysAgo(6));
+    }
+
+    @Test
+    public void testNextWorkday() {
+        assertEquals(DateBuilder.givenDate(24, 12, 2012), DateBuilder.givenDate(22, 12, 2012).nextWorkday());
+        assertEquals(DateBuilder.givenDate(27, 12, 2012), DateBuilder.givenDate(22, 12, 2012).nextWorkday(CHRISTMAS));
+    }
+
+    @Test
+    public void testWorkdaysBetween() {
+        assertEquals(5, DateBuilder.givenDate(21, 12, 2012).workdaysBetween(DateBuilder.givenDate(28, 12, 2012)));
+        assertEquals(2, DateBuilder.givenDate(21, 12, 2012).workdaysBetween(DateBuilder.givenDate(28, 12, 2012), CHRISTMAS));
+        assertEquals(-2, DateBuilder.givenDate(28, 12, 2012).workdaysBetween(DateBuilder.givenDate(21, 12, 2012), CHRISTMAS));
+        assertEquals(0, DateBuilder.givenDate(21, 12, 2012).workdaysBetween(DateBuilder.givenDate(21, 12, 2012)));
+    }
+
+    @Test
+    public void testWithWeekend() {
+        HolidayCalendar calendar = CHRISTMAS.withWeekend(FRIDAY.getValue(), SATURDAY.getValue());
+
+        assertFalse(calendar.isWorkday(givenDate(21, 12, 2012)));
+        assertTrue(calendar.isWorkday(givenDate(23, 12, 2012)));
+        assertFalse(calendar.isWorkday(givenDate(24, 12, 2012)));
+        assertFalse(HolidayCalendar.of(givenDate(22, 12, 2012)).withWeekend(SUNDAY.getValue()).isWorkday(givenDate(22, 12, 2012)));
+    }
+
+    @Test
+    public void testWithWeekendUsesIsoDaysOfWeek() {
+        HolidayCalendar calendar = HolidayCalendar.weekendsOnly().withWeekend(7);
+
+        assertFalse(calendar.isWorkday(givenDate(23, 12, 2012)));
+        assertTrue(calendar.isWorkday(givenDate(22, 12, 2012)));
+        assertTrue(calendar.isWorkday(givenDate(24, 12, 2012)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWithInvalidWeekendDay() {
+        HolidayCalendar.weekendsOnly().withWeekend(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWithWeekendOnEveryDay() {
+        HolidayCalendar.weekendsOnly().withWeekend(1, 2, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    public void testWorkdaysOutOfRange() {
+        for (int workdays : new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE, -Integer.MAX_VALUE}) {
+            try {
+                DateBuilder.givenDate(14, 12, 1972).workdaysAhead(workdays);
+                fail(String.valueOf(workdays));
+            } catch (IllegalArgumentException e) {
+                assertEquals("workdays out of range: " + workdays, e.getMessage());
+            }
+        }
+        assertEquals(DateBuilder.givenDate(14, 12, 1972).daysAhead(7 * 100000000),
+                DateBuilder.givenDate(14, 12, 1972).workdaysAhead(5 * 100000000));
+    }
+
+    @Test
+    public void testMatchesDayByDayIteration() {
+        Random random = new Random(4711);
+        DateValue[] holidays = new DateValue[300];
+        for (int i = 0; i < holidays.length; i++) {
+            holidays[i] = givenDate(1, 1, 2000).daysAhead(random.nextInt(3650));
+        }
+        HolidayCalendar calendar = HolidayCalendar.of(holidays).withWeekend(FRIDAY.getValue(), SUNDAY.getValue());
+
+        for (int i = 0; i < 200; i++) {
+            int start = givenDate(1, 1, 2000).epochDay() + random.nextInt(3650);
+            int workdays = random.nextInt(1000) - 500;
+            int expected = start;
+            for (int remaining = Math.abs(workdays); remaining > 0; ) {
+                expected += Integer.signum(workdays);
+                if (calendar.isWorkday(expected)) {
+                    remaining--;
+                }
+            }
+            assertEquals(expected, calendar.plusWorkdays(start, workdays));
+            if (workdays >= 0 || calendar.isWorkday(start)) {
+                assertEquals(workdays, calendar.workdaysBetween(start, expected));
+            }
+        }
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        File file = temporaryFolder.newFile("holidays.txt");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        writer.write("# christmas\n2012-12-24\n2012-12-25 # first day\n\n  2012-12-26  \n");
+        writer.close();
+
+        HolidayCalendar calendar = HolidayCalendar.load(file);
+
+        assertFalse(calendar.isWorkday(givenDate(25, 12, 2012)));
+        assertFalse(calendar.isWorkday(givenDate(26, 12, 2012)));
+        assertTrue(calendar.isWorkday(givenDate(27, 12, 2012)));
+        assertSame(calendar, HolidayCalendar.load(new File(file.getParentFile(), "./holidays.txt")));
+    }
+
+    @Test
+    public void testLoadInvalidFile() throws Exception {
+        File file = temporaryFolder.newFile("invalid.txt");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        writer.write("2012-12-24\n24.12.2012\n");
+        writer.close();
+
+        try {
+            HolidayCalendar.load(file);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(":2:"));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package de.javandry.testutils;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class PeriodTablesTests {
+
+    @Test
+    public void testIsoWeeksMatchCalendar() {
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.setGregorianChange(new java.util.Date(Long.MIN_VALUE));
+        calendar.setFirstDayOfWeek(Calendar.MONDAY);
+        calendar.setMinimalDaysInFirstWeek(4);
+        for (int epochDay = EpochDays.of(1850, 1, 1); epochDay < EpochDays.of(2150, 1, 1); epochDay++) {
+            calendar.setTimeInMillis(epochDay * EpochDays.MILLIS_PER_DAY);
+
+            assertEquals(calendar.get(Calendar.WEEK_OF_YEAR), PeriodTables.isoWeek(epochDay));
+            assertEquals(calendar.getWeekYear(), PeriodTables.isoWeekYear(epochDay));
+        }
+    }
+
+    @Test
+    public void testQuarters() {
+        for (int epochDay = EpochDays.of(1850, 1, 1); epochDay < EpochDays.of(2150, 1, 1); epochDay++) {
+            int packed = EpochDays.toPacked(epochDay);
+            int year = EpochDays.year(packed);
+            int quarter = (EpochDays.month(packed) - 1) / 3 + 1;
+
+            assertEquals(quarter, PeriodTables.quarter(epochDay));
+            assertEquals(EpochDays.of(year, quarter * 3 - 2, 1), PeriodTables.firstDayOfQuarter(epochDay));
+            assertEquals(EpochDays.of(year, quarter * 3 + 1, 0), PeriodTables.lastDayOfQuarter(epochDay));
+        }
+    }
+
+    @Test
+    public void testOfIsoWeek() {
+        assertEquals(EpochDays.of(2012, 12, 31), PeriodTables.ofIsoWeek(2013, 1, 1));
+        assertEquals(EpochDays.of(2016, 1, 3), PeriodTables.ofIsoWeek(2015, 53, 7));
+        assertEquals(EpochDays.of(2016, 1, 4), PeriodTables.ofIsoWeek(2015, 54, 1));
+        assertEquals(EpochDays.of(2300, 1, 1), PeriodTables.ofIsoWeek(2299, 52, 7) + 1);
+    }
+}
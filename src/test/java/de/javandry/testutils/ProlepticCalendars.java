@@ -0,0 +1,36 @@
+package de.javandry.testutils;
+
+import java.util.GregorianCalendar;
+
+/**
+ * Proleptic GregorianCalendars for comparing the epoch-day arithmetic of {@link EpochDays} with the JDK.
+ */
+final class ProlepticCalendars {
+
+    private ProlepticCalendars() {
+    }
+
+    /**
+     * Returns a new GregorianCalendar that uses gregorian rules for all dates (no julian cutover), so that its
+     * fields match the proleptic gregorian epoch-day arithmetic of EpochDays.
+     * @return the new GregorianCalendar.
+     */
+    static GregorianCalendar newCalendar() {
+        GregorianCalendar calendar = new GregorianCalendar();
+        EpochDays.makeProleptic(calendar);
+        return calendar;
+    }
+
+    /**
+     * Returns a new proleptic GregorianCalendar set to midnight of the given epoch-day in the default time zone.
+     * @param epochDay the epoch-day.
+     * @return the new GregorianCalendar.
+     */
+    static GregorianCalendar toCalendar(int epochDay) {
+        int packed = EpochDays.toPacked(epochDay);
+        GregorianCalendar calendar = newCalendar();
+        calendar.clear();
+        calendar.set(EpochDays.year(packed), EpochDays.month(packed) - 1, EpochDays.day(packed));
+        return calendar;
+    }
+}
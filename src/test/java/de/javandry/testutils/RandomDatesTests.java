@@ -0,0 +1,117 @@
+package de.javandry.testutils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static de.javandry.testutils.DateValue.givenDate;
+import static org.junit.Assert.*;
+
+public class RandomDatesTests {
+
+    @Test
+    public void testWithinRange() {
+        RandomDates dates = RandomDates.between(givenDate(28, 2, 2012), givenDate(2, 3, 2012)).withSeed(1);
+
+        Set<DateValue> drawn = new HashSet<DateValue>();
+        for (int i = 0; i < 1000; i++) {
+            drawn.add(dates.nextValue());
+        }
+
+        assertEquals(DateRange.between(givenDate(28, 2, 2012), givenDate(2, 3, 2012))
+                .stream().collect(Collectors.toSet()), drawn);
+    }
+
+    @Test
+    public void testUniformDistribution() {
+        RandomDates dates = RandomDates.between(givenDate(1, 1, 2012), givenDate(31, 12, 2012)).withSeed(42);
+        int[] perMonth = new int[12];
+
+        for (int epochDay : dates.nextEpochDays(new int[366000])) {
+            perMonth[EpochDays.month(EpochDays.toPacked(epochDay)) - 1]++;
+        }
+
+        for (int month = 1; month <= 12; month++) {
+            int expected = EpochDays.lengthOfMonth(2012, month) * 1000;
+            assertEquals("month " + month, expected, perMonth[month - 1], expected * 0.03);
+        }
+    }
+
+    @Test
+    public void testReproducible() {
+        RandomDates dates = RandomDates.between(givenDate(1, 1, 1900), givenDate(31, 12, 2099));
+
+        int[] expected = dates.withSeed(4711).nextEpochDays(new int[100]);
+        RandomDates seeded = dates.withSeed(4711);
+        for (int epochDay : expected) {
+            assertEquals(DateValue.ofEpochDay(epochDay), seeded.nextValue());
+        }
+        assertEquals(DateBuilder.ofEpochDay(expected[0]), dates.withSeed(4711).next());
+    }
+
+    @Test
+    public void testSplitIsIndependent() {
+        RandomDates dates = RandomDates.between(givenDate(1, 1, 1900), givenDate(31, 12, 2099)).withSeed(4711);
+        RandomDates split = dates.split();
+
+        assertFalse(Arrays.equals(dates.nextEpochDays(new int[10]), split.nextEpochDays(new int[10])));
+    }
+
+    @Test
+    public void testEdgeCases() {
+        RandomDates dates = RandomDates.between(givenDate(15, 11, 2011), givenDate(15, 3, 2012))
+                .withSeed(7).withEdgeCases(1);
+
+        Set<DateValue> drawn = new HashSet<DateValue>();
+        for (int i = 0; i < 1000; i++) {
+            drawn.add(dates.nextValue());
+        }
+
+        Set<DateValue> expected = new HashSet<DateValue>();
+        expected.add(givenDate(15, 11, 2011));
+        expected.add(givenDate(30, 11, 2011));
+        expected.add(givenDate(31, 12, 2011));
+        expected.add(givenDate(1, 1, 2012));
+        expected.add(givenDate(31, 1, 2012));
+        expected.add(givenDate(29, 2, 2012));
+        expected.add(givenDate(15, 3, 2012));
+        assertEquals(expected, drawn);
+    }
+
+    @Test
+    public void testEdgeCaseProbability() {
+        RandomDates dates = RandomDates.between(givenDate(1, 1, 1900), givenDate(31, 12, 2099))
+                .withSeed(7).withEdgeCases(0.25);
+
+        int edgeCases = 0;
+        for (int i = 0; i < 100000; i++) {
+            DateValue date = dates.nextValue();
+            if (date.equals(date.lastDay()) || date.equals(date.firstDay().month(1))) {
+                edgeCases++;
+            }
+        }
+
+        assertEquals(25000 + 75000 * 13 / 365.2425, edgeCases, 1000);
+    }
+
+    @Test
+    public void testNextDates() {
+        DateSequence sequence = RandomDates.between(givenDate(1, 1, 2012), givenDate(31, 12, 2012))
+                .withSeed(1).nextDates(DateSequence.onHeap(), 100);
+
+        assertEquals(100, sequence.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLastBeforeFirst() {
+        RandomDates.between(givenDate(2, 1, 2012), givenDate(1, 1, 2012));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidProbability() {
+        RandomDates.between(givenDate(1, 1, 2012), givenDate(2, 1, 2012)).withEdgeCases(1.5);
+    }
+}
@@ -0,0 +1,58 @@
+package de.javandry.testutils;
+
+import org.junit.Test;
+
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class ZoneMidnightsTests {
+
+    @Test
+    public void testMatchesTimeZoneForAllZones() {
+        for (String id : TimeZone.getAvailableIDs()) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            ZoneMidnights midnights = ZoneMidnights.forZone(zone);
+            for (int epochDay = EpochDays.of(1890, 1, 1); epochDay <= EpochDays.of(2110, 1, 1); epochDay += 13) {
+                assertEquals(id + " " + epochDay, EpochDays.toMillis(epochDay, zone), midnights.toMillis(epochDay));
+            }
+        }
+    }
+
+    @Test
+    public void testTransitionDays() {
+        TimeZone zone = TimeZone.getTimeZone("America/Sao_Paulo");
+        ZoneMidnights midnights = ZoneMidnights.forZone(zone);
+        for (int epochDay = EpochDays.of(2000, 1, 1); epochDay < EpochDays.of(2020, 1, 1); epochDay++) {
+            assertEquals(EpochDays.toMillis(epochDay, zone), midnights.toMillis(epochDay));
+        }
+    }
+
+    @Test
+    public void testWithoutTable() {
+        TimeZone zone = TimeZone.getTimeZone("America/Sao_Paulo");
+        ZoneMidnights midnights = ZoneMidnights.withoutTable(zone);
+        for (int epochDay = EpochDays.of(1890, 1, 1); epochDay < EpochDays.of(2110, 1, 1); epochDay += 3) {
+            assertEquals(ZoneMidnights.forZone(zone).toMillis(epochDay), midnights.toMillis(epochDay));
+        }
+    }
+
+    @Test
+    public void testCache() {
+        assertSame(ZoneMidnights.forZone(TimeZone.getTimeZone("Europe/Berlin")),
+                ZoneMidnights.forZone(TimeZone.getTimeZone("Europe/Berlin")));
+        assertSame(ZoneMidnights.forZone("Europe/Berlin"), ZoneMidnights.forZone(TimeZone.getTimeZone("Europe/Berlin")));
+    }
+
+    @Test
+    public void testCustomIds() {
+        assertEquals(-2 * 60 * 60 * 1000L, ZoneMidnights.forZone("GMT+02:00").toMillis(0));
+        assertEquals(-2 * 60 * 60 * 1000L, ZoneMidnights.forZone("GMT+2").toMillis(0));
+        assertEquals(0, ZoneMidnights.forZone("GMT").toMillis(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownId() {
+        ZoneMidnights.forZone("Europe/Nowhere");
+    }
+}